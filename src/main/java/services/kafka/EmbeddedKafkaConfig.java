@@ -0,0 +1,50 @@
+package services.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+/**
+ * Встроенный брокер для kafka.mode=embedded.<br/>
+ * Конфигурация подключается, только если в classpath есть optional-зависимость spring-kafka-test,
+ * поэтому классы брокера не нужны проектам, работающим с внешним брокером
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnClass(name = "org.springframework.kafka.test.EmbeddedKafkaBroker")
+@ConditionalOnProperty(name = "kafka.mode", havingValue = EmbeddedKafkaConfig.MODE)
+public class EmbeddedKafkaConfig {
+
+    public static final String MODE = "embedded";
+
+    private final Environment env;
+
+    /**
+     * Встроенный брокер, поднимается в процессе теста.<br/>
+     * Топики из kafka.embedded.topics создаются при старте, остальные создаются при первой записи
+     */
+    @Bean(destroyMethod = "destroy")
+    public EmbeddedKafkaBroker embeddedKafkaBroker() {
+        EmbeddedKafkaBroker broker = new EmbeddedKafkaKraftBroker(
+                1,
+                env.getProperty("kafka.embedded.partitions", Integer.class, 1),
+                env.getProperty("kafka.embedded.topics", String[].class, new String[0])
+        );
+        broker.afterPropertiesSet();
+        return broker;
+    }
+
+    /**
+     * Метод возвращает адрес встроенного брокера, запуская его при первом обращении
+     *
+     * @return адрес брокера
+     */
+    public String bootstrapServers() {
+        return embeddedKafkaBroker().getBrokersAsString();
+    }
+}
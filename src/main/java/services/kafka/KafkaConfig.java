@@ -3,8 +3,11 @@ package services.kafka;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -14,6 +17,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertiesPropertySource;
 import org.springframework.core.io.support.EncodedResource;
 import org.springframework.core.io.support.PropertySourceFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -26,12 +31,31 @@ import java.util.*;
 @PropertySource(value = "classpath:kafka.yml", factory = KafkaConfig.YamlPropertySourceFactory.class)
 public class KafkaConfig {
 
+    private static final String BOOTSTRAP_SERVERS = "localhost:9092";
+
     private final Environment env;
+    private final ObjectProvider<EmbeddedKafkaConfig> embeddedKafkaConfig;
+
+    /**
+     * Метод возвращает адрес брокера: встроенного при kafka.mode=embedded, иначе kafka.bootstrap-servers
+     *
+     * @return адрес брокера
+     */
+    public String bootstrapServers() {
+        if (!EmbeddedKafkaConfig.MODE.equals(env.getProperty("kafka.mode"))) {
+            return env.getProperty("kafka.bootstrap-servers", BOOTSTRAP_SERVERS);
+        }
+        EmbeddedKafkaConfig embedded = embeddedKafkaConfig.getIfAvailable();
+        if (embedded == null) {
+            throw new IllegalStateException("Для kafka.mode=embedded нужна зависимость org.springframework.kafka:spring-kafka-test");
+        }
+        return embedded.bootstrapServers();
+    }
 
     @Bean
     public Map<String, Object> producerConfigs() {
         Map<String, Object> props = new HashMap<>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers());
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         // See https://kafka.apache.org/documentation/#producerconfigs for more properties
@@ -48,6 +72,26 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * Настройки consumer'а для проверки сообщений в топике.<br/>
+     * Без group.id и автокоммита: разделы назначаются напрямую, смещения не сохраняются
+     */
+    @Bean
+    public Map<String, Object> verificationConsumerConfigs() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 2000);
+        return props;
+    }
+
+    @Bean
+    public ConsumerFactory<byte[], byte[]> verificationConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(verificationConsumerConfigs());
+    }
+
     @Bean
     @ConfigurationProperties(prefix = "producers")
     public List<String> producers() {
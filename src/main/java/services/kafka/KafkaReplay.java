@@ -0,0 +1,248 @@
+package services.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static services.util.HelperJson.convertBytesToJsonNode;
+
+/**
+ * KafkaReplay<br/> Воспроизведение записанного дампа топика (JSON Lines) через {@link KafkaService}.<br/>
+ * Дамп читается окнами memory-mapped файла, разбор строк и отправка выполняются в разных потоках,
+ * между ними ограниченная очередь, поэтому расход памяти не зависит от размера дампа.
+ * <pre>
+ *     Формат строки дампа:
+ *     ==> {"topic": "READ_TEST", "partition": 0, "timestamp": 1700000000000, "key": "asdfasdf",
+ *          "headers": [{"key": "TYPE", "value": "application"}, {"key": "TYPE", "value": "AAEC", "encoding": "base64"}],
+ *          "value": {"id": 1}}
+ *     - partition, timestamp, key, headers необязательны
+ *     - key - строка или null
+ *     - headers - массив {key, value, encoding} в порядке записи, ключи могут повторяться;
+ *       value - строка (UTF-8) или null, при "encoding": "base64" - байты в base64.
+ *       Допускается и краткая форма {"TYPE": "application"} для уникальных текстовых заголовков
+ *     - value может быть строкой или json, json отправляется в компактном виде
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KafkaReplay {
+    /**
+     * Скорость воспроизведения без пауз между сообщениями
+     */
+    public static final double FULL_SPEED = 0;
+    /**
+     * Скорость воспроизведения с исходными интервалами между сообщениями
+     */
+    public static final double ORIGINAL_SPEED = 1;
+
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final Replayed END = new Replayed(null, 0);
+
+    KafkaService kafkaService;
+
+    /**
+     * Метод воспроизводит дамп без пауз между сообщениями
+     *
+     * @param dump путь к файлу дампа
+     * @return итог воспроизведения
+     */
+    public Result replay(Path dump) {
+        return replay(dump, FULL_SPEED);
+    }
+
+    /**
+     * Метод воспроизводит дамп с интервалами между сообщениями, поделенными на speed.<br/>
+     * Интервалы вычисляются по полю timestamp, строки без timestamp отправляются без паузы
+     *
+     * @param dump  путь к файлу дампа
+     * @param speed множитель скорости: {@link #ORIGINAL_SPEED} - исходные интервалы, 2 - в два раза быстрее,
+     *              {@link #FULL_SPEED} - без пауз
+     * @return итог воспроизведения
+     */
+    public Result replay(Path dump, double speed) {
+        BlockingQueue<Replayed> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                read(dump, queue);
+            } catch (InterruptedException ex) {
+                // отправка остановлена, дочитывать дамп не нужно
+                Thread.currentThread().interrupt();
+            } catch (Throwable ex) {
+                // в том числе Error (OutOfMemoryError на длинной строке, StackOverflowError на глубоком json)
+                error.compareAndSet(null, ex);
+                queue.clear();
+            } finally {
+                // END кладется всегда, иначе отправляющий поток ждет в queue.take() бесконечно
+                try {
+                    queue.put(END);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "kafka-replay-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        long started = System.nanoTime();
+        long sent = 0;
+        long firstTimestamp = -1;
+        try {
+            Replayed replayed;
+            while ((replayed = queue.take()) != END && error.get() == null) {
+                if (speed > 0 && replayed.timestamp() > 0) {
+                    if (firstTimestamp < 0) {
+                        firstTimestamp = replayed.timestamp();
+                    }
+                    long due = started + (long) ((replayed.timestamp() - firstTimestamp) * 1_000_000 / speed);
+                    for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                kafkaService.send(replayed.record()).whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        error.compareAndSet(null, ex);
+                    }
+                });
+                sent++;
+            }
+            kafkaService.getKafkaTemplate().flush();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Воспроизведение дампа " + dump + " прервано", ex);
+        } finally {
+            reader.interrupt();
+        }
+        if (error.get() != null) {
+            throw new IllegalStateException("Ошибка при воспроизведении дампа " + dump, error.get());
+        }
+        return new Result(sent, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * Метод читает дамп окнами memory-mapped файла и кладет разобранные сообщения в очередь.<br/>
+     * Строка, не поместившаяся в окно целиком, читается из следующего окна
+     */
+    private static void read(Path dump, BlockingQueue<Replayed> queue) throws InterruptedException {
+        try (FileChannel channel = FileChannel.open(dump, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            byte[] line = new byte[8192];
+            while (position < size) {
+                long window = Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+                boolean last = position + window == size;
+                int start = 0;
+                for (int i = 0; i < window; i++) {
+                    if (buffer.get(i) == '\n' || last && i == window - 1) {
+                        int length = buffer.get(i) == '\n' ? i - start : i - start + 1;
+                        if (length > line.length) {
+                            line = new byte[Math.max(length, line.length * 2)];
+                        }
+                        buffer.get(start, line, 0, length);
+                        Replayed replayed = parse(line, length);
+                        if (replayed != null) {
+                            queue.put(replayed);
+                        }
+                        start = i + 1;
+                    }
+                }
+                if (start == 0 && !last) {
+                    throw new IllegalArgumentException("Строка дампа длиннее " + WINDOW_SIZE + " байт");
+                }
+                position += start;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Ошибка при чтении дампа " + dump, ex);
+        }
+    }
+
+    private static Replayed parse(byte[] line, int length) {
+        while (length > 0 && (line[length - 1] == '\r' || line[length - 1] == ' ')) {
+            length--;
+        }
+        if (length == 0) {
+            return null;
+        }
+        JsonNode node = convertBytesToJsonNode(line, 0, length);
+        RecordHeaders headers = new RecordHeaders();
+        JsonNode headersNode = node.path("headers");
+        if (headersNode.isArray()) {
+            headersNode.forEach(header -> headers.add(
+                    text(header.get("key"), "ключ заголовка"),
+                    headerValue(header.get("value"), header.path("encoding").asText("text"))
+            ));
+        } else if (headersNode.isObject()) {
+            headersNode.fields().forEachRemaining(header ->
+                    headers.add(header.getKey(), headerValue(header.getValue(), "text")));
+        } else if (!headersNode.isMissingNode() && !headersNode.isNull()) {
+            throw new IllegalArgumentException("Поле headers должно быть массивом или объектом: " + headersNode);
+        }
+        JsonNode key = node.get("key");
+        JsonNode value = node.get("value");
+        ProducerRecord<String, String> record = new ProducerRecord<>(
+                node.get("topic").asText(),
+                node.hasNonNull("partition") ? node.get("partition").asInt() : null,
+                null,
+                key == null || key.isNull() ? null : text(key, "ключ сообщения"),
+                value == null || value.isNull() ? null : value.isTextual() ? value.asText() : value.toString(),
+                headers
+        );
+        return new Replayed(record, node.path("timestamp").asLong(0));
+    }
+
+    /**
+     * Метод возвращает значение заголовка: текст в UTF-8 или байты из base64
+     */
+    private static byte[] headerValue(JsonNode value, String encoding) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return switch (encoding) {
+            case "text" -> text(value, "значение заголовка").getBytes(StandardCharsets.UTF_8);
+            case "base64" -> Base64.getDecoder().decode(text(value, "значение заголовка"));
+            default -> throw new IllegalArgumentException("Неизвестная кодировка заголовка: " + encoding);
+        };
+    }
+
+    private static String text(JsonNode node, String field) {
+        if (node == null || !node.isTextual()) {
+            throw new IllegalArgumentException("Поле " + field + " должно быть строкой: " + node);
+        }
+        return node.asText();
+    }
+
+    /**
+     * Итог воспроизведения
+     *
+     * @param sent     количество отправленных сообщений
+     * @param duration длительность воспроизведения
+     */
+    public record Result(long sent, Duration duration) {
+    }
+
+    private record Replayed(ProducerRecord<String, String> record, long timestamp) {
+    }
+}
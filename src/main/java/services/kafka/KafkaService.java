@@ -7,11 +7,13 @@ import lombok.experimental.FieldDefaults;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @RequiredArgsConstructor
@@ -51,4 +53,15 @@ public class KafkaService {
 //        send.whenComplete((result, ex) -> result.getProducerRecord()
 //                .headers().forEach(i -> System.out.println("!!!!!!!!!!!!!!!!!!!!!!!!!!!" + i.key() + " " + new String(i.value(), StandardCharsets.UTF_8))));
     }
+
+    /**
+     * Метод отправляет сообщение с заданными топиком, разделом, ключом и заголовками
+     *
+     * @param record отправляемое сообщение
+     * @return результат отправки
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<SendResult<String, String>> send(ProducerRecord<String, String> record) {
+        return kafkaTemplate.send(record);
+    }
 }
@@ -0,0 +1,278 @@
+package services.kafka;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * KafkaVerifier<br/> Проверка сообщений, попавших в топик.<br/>
+ * Разделы назначаются consumer'ам напрямую (без группы и ребалансировки), чтение каждого раздела
+ * начинается со смещения, соответствующего переданному моменту времени. Разделы дочитываются до конца
+ * на момент вызова, затем, пока не найдено ни одного подходящего сообщения, ожидаются новые сообщения
+ * до истечения таймаута. Разделы читаются параллельно, фильтр применяется к байтам ключа и заголовкам,
+ * в строку преобразуются только подошедшие сообщения.<br/>
+ * Если за таймаут разделы не удалось дочитать до конца на момент вызова, выбрасывается IllegalStateException:
+ * пустой результат означает, что сообщение не найдено, а не то, что чтение не успело завершиться.<br/>
+ * KafkaTemplate.send асинхронный: {@link #findFirst} дождется сообщения, находящегося в отправке,
+ * а {@link #find} возвращает результат после первого найденного сообщения, поэтому перед проверкой
+ * нескольких сообщений нужно вызвать flush у KafkaTemplate.<br/>
+ * Проверка отсутствия сообщения ждет весь таймаут, поэтому для нее передается короткий таймаут.
+ * <pre>
+ *     Пример:
+ *     Instant start = Instant.now();
+ *     kafkaService.send();
+ *     kafkaVerifier.findFirst("READ_TEST", start, RecordFilter.key("asdfasdf")
+ *             .and(RecordFilter.header("TYPE", "application")));
+ *     kafkaService.getKafkaTemplate().flush();
+ *     kafkaVerifier.find("READ_TEST", start, RecordFilter.header("TYPE", "application"));
+ *     kafkaVerifier.find("READ_TEST", start, RecordFilter.key("missing"), Duration.ofSeconds(1)).isEmpty();
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KafkaVerifier {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+    private static final int MAX_THREADS = 16;
+
+    ConsumerFactory<byte[], byte[]> verificationConsumerFactory;
+
+    /**
+     * Метод ищет все сообщения топика, записанные начиная с переданного момента и подходящие под фильтр.<br/>
+     * Если подходящих сообщений нет, новые сообщения ожидаются до истечения таймаута по умолчанию
+     *
+     * @param topic  название топика
+     * @param since  момент времени, с которого читаются сообщения (обычно момент начала теста)
+     * @param filter фильтр по ключу и заголовкам
+     * @return найденные сообщения
+     */
+    public List<ConsumerRecord<String, String>> find(String topic, Instant since, RecordFilter filter) {
+        return find(topic, since, filter, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Метод ищет все сообщения топика, записанные начиная с переданного момента и подходящие под фильтр.<br/>
+     * Если подходящих сообщений нет, новые сообщения ожидаются до истечения переданного таймаута
+     *
+     * @param topic   название топика
+     * @param since   момент времени, с которого читаются сообщения (обычно момент начала теста)
+     * @param filter  фильтр по ключу и заголовкам
+     * @param timeout максимальное время чтения и ожидания новых сообщений
+     * @return найденные сообщения
+     */
+    public List<ConsumerRecord<String, String>> find(String topic, Instant since, RecordFilter filter, Duration timeout) {
+        return read(topic, since, filter, false, timeout);
+    }
+
+    /**
+     * Метод ищет первое сообщение топика, записанное начиная с переданного момента и подходящее под фильтр.<br/>
+     * Новые сообщения ожидаются до истечения таймаута по умолчанию,
+     * чтение всех разделов прекращается, как только сообщение найдено
+     *
+     * @param topic  название топика
+     * @param since  момент времени, с которого читаются сообщения (обычно момент начала теста)
+     * @param filter фильтр по ключу и заголовкам
+     * @return найденное сообщение
+     */
+    public Optional<ConsumerRecord<String, String>> findFirst(String topic, Instant since, RecordFilter filter) {
+        return findFirst(topic, since, filter, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Метод ищет первое сообщение топика, записанное начиная с переданного момента и подходящее под фильтр.<br/>
+     * Новые сообщения ожидаются до истечения переданного таймаута
+     *
+     * @param topic   название топика
+     * @param since   момент времени, с которого читаются сообщения (обычно момент начала теста)
+     * @param filter  фильтр по ключу и заголовкам
+     * @param timeout максимальное время чтения и ожидания новых сообщений
+     * @return найденное сообщение
+     */
+    public Optional<ConsumerRecord<String, String>> findFirst(String topic, Instant since, RecordFilter filter,
+                                                              Duration timeout) {
+        return read(topic, since, filter, true, timeout).stream().findFirst();
+    }
+
+    /**
+     * Метод читает разделы топика параллельно.<br/>
+     * Чтение завершается, когда найдено первое сообщение (first = true) или когда все разделы дочитаны
+     * до конца на момент вызова и найдено хотя бы одно сообщение (first = false).
+     * Пока ничего не найдено, новые сообщения ожидаются до истечения таймаута
+     *
+     * @param topic   название топика
+     * @param since   момент времени, с которого читаются сообщения
+     * @param filter  фильтр по ключу и заголовкам
+     * @param first   остановить чтение после первого найденного сообщения
+     * @param timeout максимальное время чтения и ожидания новых сообщений
+     * @return найденные сообщения
+     * @throws IllegalStateException если за timeout разделы не дочитаны до конца на момент вызова
+     */
+    public List<ConsumerRecord<String, String>> read(String topic, Instant since, RecordFilter filter,
+                                                      boolean first, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<TopicPartition, Long> starts = new HashMap<>();
+        Map<TopicPartition, Long> ends;
+        try (Consumer<byte[], byte[]> consumer = verificationConsumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(topic)
+                    .stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            ends = consumer.endOffsets(partitions);
+            Map<TopicPartition, Long> timestamps = new HashMap<>();
+            partitions.forEach(partition -> timestamps.put(partition, since.toEpochMilli()));
+            // для раздела без сообщений после since чтение начинается с конца, чтобы дождаться новых
+            consumer.offsetsForTimes(timestamps).forEach((partition, offset) ->
+                    starts.put(partition, offset != null ? offset.offset() : ends.get(partition)));
+        }
+        if (starts.isEmpty()) {
+            return List.of();
+        }
+
+        // разделы распределяются по consumer'ам, чтобы все разделы читались и ожидались одновременно
+        List<List<TopicPartition>> groups = new ArrayList<>();
+        int index = 0;
+        for (TopicPartition partition : starts.keySet()) {
+            if (groups.size() < MAX_THREADS) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(index++ % MAX_THREADS).add(partition);
+        }
+        List<ConsumerRecord<String, String>> found = Collections.synchronizedList(new ArrayList<>());
+        Set<TopicPartition> behind = ConcurrentHashMap.newKeySet();
+        AtomicBoolean stop = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(groups.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            groups.forEach(group -> futures.add(executor.submit(() ->
+                    readPartitions(group, starts, ends, filter, first, stop, deadline, found, behind))));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Чтение топика " + topic + " прервано", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Ошибка при чтении топика " + topic, ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        if (!behind.isEmpty() && !(first && !found.isEmpty())) {
+            throw new IllegalStateException("Топик " + topic + " не дочитан за " + timeout + ", разделы " + behind);
+        }
+        return found;
+    }
+
+    /**
+     * Метод читает группу разделов одним consumer'ом
+     *
+     * @param behind разделы, не дочитанные до конца на момент вызова к истечению таймаута
+     */
+    private void readPartitions(List<TopicPartition> partitions, Map<TopicPartition, Long> starts,
+                                Map<TopicPartition, Long> ends, RecordFilter filter, boolean first,
+                                AtomicBoolean stop, long deadline, List<ConsumerRecord<String, String>> found,
+                                Set<TopicPartition> behind) {
+        try (Consumer<byte[], byte[]> consumer = verificationConsumerFactory.createConsumer()) {
+            consumer.assign(partitions);
+            partitions.forEach(partition -> consumer.seek(partition, starts.get(partition)));
+            while (!stop.get()) {
+                List<TopicPartition> lagging = partitions.stream()
+                        .filter(partition -> consumer.position(partition) < ends.get(partition))
+                        .toList();
+                if (lagging.isEmpty() && !first && !found.isEmpty()) {
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    behind.addAll(lagging);
+                    return;
+                }
+                for (ConsumerRecord<byte[], byte[]> record
+                        : consumer.poll(Duration.ofNanos(Math.min(remaining, POLL_TIMEOUT.toNanos())))) {
+                    if (filter.test(record.key(), record.headers())) {
+                        found.add(toStringRecord(record));
+                        if (first) {
+                            stop.set(true);
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static ConsumerRecord<String, String> toStringRecord(ConsumerRecord<byte[], byte[]> record) {
+        return new ConsumerRecord<>(
+                record.topic(),
+                record.partition(),
+                record.offset(),
+                record.timestamp(),
+                record.timestampType(),
+                record.serializedKeySize(),
+                record.serializedValueSize(),
+                record.key() == null ? null : new String(record.key(), StandardCharsets.UTF_8),
+                record.value() == null ? null : new String(record.value(), StandardCharsets.UTF_8),
+                record.headers(),
+                record.leaderEpoch()
+        );
+    }
+
+    /**
+     * Фильтр сообщений по байтам ключа и заголовкам, применяется до преобразования сообщения в строку
+     */
+    @FunctionalInterface
+    public interface RecordFilter {
+        boolean test(byte[] key, Headers headers);
+
+        default RecordFilter and(RecordFilter other) {
+            return (key, headers) -> test(key, headers) && other.test(key, headers);
+        }
+
+        /**
+         * Фильтр пропускает все сообщения
+         */
+        static RecordFilter any() {
+            return (key, headers) -> true;
+        }
+
+        /**
+         * Фильтр по значению ключа в UTF-8
+         *
+         * @param key ожидаемый ключ
+         */
+        static RecordFilter key(String key) {
+            byte[] expected = key.getBytes(StandardCharsets.UTF_8);
+            return (actual, headers) -> Arrays.equals(expected, actual);
+        }
+
+        /**
+         * Фильтр по значению последнего заголовка с переданным именем в UTF-8
+         *
+         * @param name  имя заголовка
+         * @param value ожидаемое значение
+         */
+        static RecordFilter header(String name, String value) {
+            byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            return (key, headers) -> {
+                Header header = headers.lastHeader(name);
+                return header != null && Arrays.equals(expected, header.value());
+            };
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package services.util;
 
 import io.qameta.allure.Allure;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.listener.TestLifecycleListener;
 import io.qameta.allure.model.Parameter;
 import io.qameta.allure.model.Stage;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
 import lombok.experimental.UtilityClass;
 import org.junit.jupiter.params.provider.Arguments;
 
@@ -25,6 +28,14 @@ public class AllureStep {
      * URL для прикрепления адреса тест-кейса
      */
     private static final String ALLURE_LINK_TMS_PATTERN = "https://...";
+    /**
+     * Максимальная длина значения параметра шага, более длинные значения обрезаются
+     */
+    private static final int PARAM_MAX_LENGTH = Integer.getInteger("allure.params.max-length", 2000);
+    /**
+     * Вычислять ли ленивые параметры успешно завершенных шагов
+     */
+    private static final boolean RENDER_PASSED_LAZY_PARAMS = Boolean.getBoolean("allure.params.render-passed");
 
     /**
      * Метод инициализирует:<br/>
@@ -90,20 +101,23 @@ public class AllureStep {
 
     /**
      * Метод добавляет параметры к текущему шагу<br/>
+     * Параметры дописываются в конец списка параметров шага без его копирования
      *
      * @param params добавляемые параметры
      */
     public static void addParam(Param... params) {
+        List<Parameter> parameters = createParam(Arrays
+                .stream(params)
+                .collect(Collectors.toMap(
+                        param -> param.key,
+                        param -> param.value,
+                        (a, b) -> b,
+                        LinkedHashMap::new)));
         Allure.getLifecycle().updateStep(stepResult -> {
-            List<Parameter> parameters = new ArrayList<>(stepResult.getParameters());
-            parameters.addAll(createParam(Arrays
-                    .stream(params)
-                    .collect(Collectors.toMap(
-                            param -> param.key,
-                            param -> param.value,
-                            (a, b) -> b,
-                            LinkedHashMap::new))));
-            stepResult.setParameters(parameters);
+            if (stepResult.getParameters() == null) {
+                stepResult.setParameters(new ArrayList<>());
+            }
+            stepResult.getParameters().addAll(parameters);
         });
     }
 
@@ -251,20 +265,38 @@ public class AllureStep {
     }
 
     /**
-     * Метод преобразует переданную коллекцию параметров "Map" в коллекцию параметров "List"
+     * Метод преобразует переданную коллекцию параметров "Map" в коллекцию параметров "List".<br/>
+     * Значения параметров {@link Param#lazy(String, Supplier)} не вычисляются сразу
      *
      * @param param набор параметров в виде "Map"
      * @return набор параметров в виде "List"
      */
     private static List<Parameter> createParam(Map<String, Object> param) {
-        return param != null
-                ? param.entrySet()
-                .stream()
-                .map(i -> new Parameter()
-                        .setName(i.getKey())
-                        .setValue(i.getValue().toString()))
-                .toList()
-                : null;
+        List<Parameter> parameters = new ArrayList<>(param != null ? param.size() : 0);
+        if (param != null) {
+            param.forEach((key, value) -> parameters.add(value instanceof LazyValue lazy
+                    ? new LazyParameter(lazy.supplier()).setName(key)
+                    : new Parameter().setName(key).setValue(renderParam(value))));
+        }
+        return parameters;
+    }
+
+    /**
+     * Метод преобразует значение параметра в строку с учетом максимальной длины allure.params.max-length
+     *
+     * @param value значение параметра
+     * @return строковое значение
+     */
+    private static String renderParam(Object value) {
+        if (value instanceof CharSequence sequence && sequence.length() > PARAM_MAX_LENGTH) {
+            return truncate(sequence);
+        }
+        String rendered = String.valueOf(value);
+        return rendered.length() > PARAM_MAX_LENGTH ? truncate(rendered) : rendered;
+    }
+
+    private static String truncate(CharSequence value) {
+        return value.subSequence(0, PARAM_MAX_LENGTH) + "... [обрезано, длина " + value.length() + "]";
     }
 
     /**
@@ -413,6 +445,103 @@ public class AllureStep {
         public static Param of(String key, Object value) {
             return new Param(key, value);
         }
+
+        /**
+         * Параметр, значение которого вычисляется только при завершении шага или теста.<br/>
+         * Для успешно завершенных шагов значение не вычисляется, если не задан allure.params.render-passed=true
+         *
+         * @param key   название параметра
+         * @param value поставщик значения параметра
+         */
+        public static Param lazy(String key, Supplier<?> value) {
+            return new Param(key, new LazyValue(value));
+        }
+    }
+
+    /**
+     * Ленивое значение параметра, создается через {@link Param#lazy(String, Supplier)}
+     *
+     * @param supplier поставщик значения параметра
+     */
+    private record LazyValue(Supplier<?> supplier) {
+    }
+
+    /**
+     * Параметр шага с ленивым значением. Значение вычисляется при завершении шага
+     * (или при завершении теста для незавершенных шагов), для успешно завершенного шага отбрасывается
+     */
+    public static class LazyParameter extends Parameter {
+        private static final String NOT_RENDERED = "[не вычислено: шаг пройден]";
+
+        private Supplier<?> supplier;
+
+        public LazyParameter(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        /**
+         * Метод вычисляет значение, если оно еще не вычислено
+         */
+        public void render() {
+            if (supplier != null) {
+                Supplier<?> current = supplier;
+                supplier = null;
+                setValue(renderParam(current.get()));
+            }
+        }
+
+        /**
+         * Метод отказывается от вычисления значения, если оно еще не вычислено
+         */
+        public void discard() {
+            if (supplier != null) {
+                supplier = null;
+                setValue(NOT_RENDERED);
+            }
+        }
+    }
+
+    /**
+     * Listener вычисляет ленивые параметры при завершении шага и отбрасывает параметры успешно завершенных шагов.
+     * При завершении теста так же обрабатываются шаги, которые не были завершены.<br/>
+     * Подключается через META-INF/services/io.qameta.allure.listener.StepLifecycleListener
+     * и META-INF/services/io.qameta.allure.listener.TestLifecycleListener
+     */
+    public static class LazyParameterListener implements StepLifecycleListener, TestLifecycleListener {
+        @Override
+        public void beforeStepStop(StepResult result) {
+            resolve(result);
+        }
+
+        @Override
+        public void beforeTestStop(TestResult result) {
+            if (result.getSteps() != null) {
+                result.getSteps().forEach(LazyParameterListener::resolveAll);
+            }
+        }
+
+        private static void resolveAll(StepResult result) {
+            resolve(result);
+            if (result.getSteps() != null) {
+                result.getSteps().forEach(LazyParameterListener::resolveAll);
+            }
+        }
+
+        private static void resolve(StepResult result) {
+            if (result.getParameters() == null) {
+                return;
+            }
+            boolean discard = !RENDER_PASSED_LAZY_PARAMS && result.getStatus() == Status.PASSED;
+            result.getParameters().forEach(parameter -> {
+                if (parameter instanceof LazyParameter lazy) {
+                    if (discard) {
+                        lazy.discard();
+                    } else {
+                        lazy.render();
+                    }
+                }
+            });
+        }
     }
 
     /**
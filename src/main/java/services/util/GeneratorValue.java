@@ -5,10 +5,6 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.math3.random.RandomDataGenerator;
 
 import java.sql.Timestamp;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.util.UUID;
 
 @UtilityClass
@@ -53,6 +49,16 @@ public class GeneratorValue {
         return RandomStringUtils.random(length, useLetters, useNumbers);
     }
 
+    /**
+     * Метод генерирует строку, соответствующую регулярному выражению
+     *
+     * @param regex регулярное выражение
+     * @return сгенерированная строка
+     */
+    public static String generateString(String regex) {
+        return RegexGenerator.of(regex).next();
+    }
+
     /**
      * Метод генерирует случайное значение Integer из переданного диапазона
      *
@@ -76,23 +82,15 @@ public class GeneratorValue {
     }
 
     /**
-     * Метод генерирует случайное значение Timestamp из переданного диапазона в формате uuuu-MM-dd'T'HH:mm
+     * Метод генерирует случайное значение Timestamp из переданного диапазона в формате uuuu-MM-dd'T'HH:mm.<br/>
+     * Границы интерпретируются в системном часовом поясе. Для генерации большого количества значений
+     * из одного диапазона следует использовать {@link TimestampRange}, чтобы не разбирать границы на каждый вызов
      *
      * @param of нижняя граница диапазона(включительно)
      * @param to верхняя граница диапазона(включительно)
      * @return сгенерированное значение
      */
     public static Timestamp generateTimestamp(String of, String to) {
-        LocalDateTime leftLimit = of == null
-                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(0L), ZoneId.systemDefault())
-                : LocalDateTime.parse(of);
-        LocalDateTime rightLimit = to == null
-                ? LocalDateTime.now()
-                : LocalDateTime.parse(to);
-        Instant instant = Instant.ofEpochMilli(generateLong(
-                leftLimit.toInstant(ZoneOffset.UTC).toEpochMilli(),
-                rightLimit.toInstant(ZoneOffset.UTC).toEpochMilli()
-        ));
-        return Timestamp.from(instant);
+        return TimestampRange.of(of, to).next();
     }
 }
@@ -22,13 +22,30 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @UtilityClass
 public class HelperJson {
     private static final ObjectMapper mapper;
+    /**
+     * Преднастроенные mapper'ы для сериализации с обрезкой нулей в Timestamp и без нее
+     */
+    private static final ObjectMapper trimMapper;
+    private static final ObjectMapper fullMapper;
+    /**
+     * Кэш скомпилированных форматтеров по шаблону
+     */
+    private static final Map<String, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+    /**
+     * Шаблон даты и времени, представленной в виде массива [yyyy, M, d, H, m, s]
+     */
+    private static final String DATE_TIME_ARRAY_PATTERN = "yyyy,M,d,H,m[,s],";
 
     static {
         mapper = new ObjectMapper();
+        trimMapper = mapper.copy().registerModule(createModule(true));
+        fullMapper = mapper.copy().registerModule(createModule(false));
     }
 
     /**
@@ -77,19 +94,30 @@ public class HelperJson {
 
     public static String convertObjectToJson(Object object, Boolean trim) {
         try {
-            return mapper.registerModule(
-                            new SimpleModule() {{
-                                addSerializer(Timestamp.class, new CustomTimestampSerializer(trim));
-                                addSerializer(Date.class, new CustomDateSerializer());
-                                addSerializer(BigDecimal.class, new CustomBigDecimalSerializer());
-                            }}
-                    )
-                    .writeValueAsString(object);
+            return (trim ? trimMapper : fullMapper).writeValueAsString(object);
         } catch (JsonProcessingException ex) {
             throw new IllegalArgumentException("Ошибка при чтении переданного объекта", ex);
         }
     }
 
+    /**
+     * Метод возвращает скомпилированный форматтер для шаблона из кэша
+     *
+     * @param pattern шаблон даты и времени
+     * @return форматтер
+     */
+    public static DateTimeFormatter getFormatter(String pattern) {
+        return formatters.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
+    private static SimpleModule createModule(boolean trim) {
+        return new SimpleModule() {{
+            addSerializer(Timestamp.class, new CustomTimestampSerializer(trim));
+            addSerializer(Date.class, new CustomDateSerializer());
+            addSerializer(BigDecimal.class, new CustomBigDecimalSerializer());
+        }};
+    }
+
     public static JsonNode convertStringToJsonNode(String json) {
         try {
             return mapper.readTree(json);
@@ -98,12 +126,28 @@ public class HelperJson {
         }
     }
 
+    /**
+     * Метод читает json из части массива байт UTF-8 без копирования в строку
+     *
+     * @param json   массив байт
+     * @param offset начало json в массиве
+     * @param length длина json
+     * @return прочитанный json
+     */
+    public static JsonNode convertBytesToJsonNode(byte[] json, int offset, int length) {
+        try {
+            return mapper.readTree(json, offset, length);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Ошибка при чтении JSON из массива байт", ex);
+        }
+    }
+
     public static Timestamp convertDataTimeOfArrayToTimestamp(ArrayNode arrayNode) {
         StringBuilder stringBuilder = new StringBuilder();
         arrayNode.forEach(i -> stringBuilder.append(i).append(","));
         LocalDateTime localDateTime = LocalDateTime.parse(
                 stringBuilder,
-                DateTimeFormatter.ofPattern("yyyy,M,d,H,m[,s],")
+                getFormatter(DATE_TIME_ARRAY_PATTERN)
         );
         return Timestamp.valueOf(localDateTime);
     }
@@ -131,6 +175,15 @@ public class HelperJson {
 
     @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
     public static class CustomTimestampSerializer extends StdSerializer<Timestamp> {
+        /**
+         * Часовой пояс, в котором выводится Timestamp. Вычисляется один раз при загрузке класса
+         */
+        private static final ZoneId ZONE = ZoneId.systemDefault();
+        /**
+         * Буфер под строковое представление uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS
+         */
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
         boolean trim;
 
         public CustomTimestampSerializer(boolean trim) {
@@ -147,16 +200,84 @@ public class HelperJson {
             serialize(timestamp, jsonGenerator, trim);
         }
 
+        /**
+         * Метод записывает Timestamp в формате LocalDateTime.toString() напрямую в генератор.<br/>
+         * При trim = true отбрасываются завершающие нули дробной части секунд
+         *
+         * @param timestamp     сериализуемое значение
+         * @param jsonGenerator генератор json
+         * @param trim          обрезать ли завершающие нули
+         */
         public void serialize(Timestamp timestamp, JsonGenerator jsonGenerator, boolean trim) throws IOException {
-            if (trim) {
-                String time = LocalDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault()).toString();
-                while (time.charAt(time.length() - 1) == '0' || time.charAt(time.length() - 1) == '.') {
-                    time = time.substring(0, time.length() - 1);
-                }
-                jsonGenerator.writeString(time);
-            } else {
-                jsonGenerator.writeString(LocalDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault()).toString());
+            LocalDateTime dateTime = LocalDateTime.ofInstant(timestamp.toInstant(), ZONE);
+            int year = dateTime.getYear();
+            if (year < 0 || year > 9999) {
+                String time = dateTime.toString();
+                int length = trim ? trimLength(time.toCharArray(), time.length()) : time.length();
+                jsonGenerator.writeString(time.substring(0, length));
+                return;
+            }
+            char[] buffer = BUFFER.get();
+            int length = format(dateTime, year, buffer);
+            jsonGenerator.writeString(buffer, 0, trim ? trimLength(buffer, length) : length);
+        }
+
+        private static int format(LocalDateTime dateTime, int year, char[] buffer) {
+            writeDigits(buffer, 0, year, 4);
+            buffer[4] = '-';
+            writeDigits(buffer, 5, dateTime.getMonthValue(), 2);
+            buffer[7] = '-';
+            writeDigits(buffer, 8, dateTime.getDayOfMonth(), 2);
+            buffer[10] = 'T';
+            writeDigits(buffer, 11, dateTime.getHour(), 2);
+            buffer[13] = ':';
+            writeDigits(buffer, 14, dateTime.getMinute(), 2);
+            int second = dateTime.getSecond();
+            int nano = dateTime.getNano();
+            if (second == 0 && nano == 0) {
+                return 16;
+            }
+            buffer[16] = ':';
+            writeDigits(buffer, 17, second, 2);
+            if (nano == 0) {
+                return 19;
+            }
+            buffer[19] = '.';
+            if (nano % 1_000_000 == 0) {
+                writeDigits(buffer, 20, nano / 1_000_000, 3);
+                return 23;
+            }
+            if (nano % 1_000 == 0) {
+                writeDigits(buffer, 20, nano / 1_000, 6);
+                return 26;
+            }
+            writeDigits(buffer, 20, nano, 9);
+            return 29;
+        }
+
+        private static void writeDigits(char[] buffer, int offset, int value, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+
+        /**
+         * Метод возвращает длину строки без завершающих нулей дробной части секунд.<br/>
+         * Нули в секундах, минутах и дате значимые и не отбрасываются
+         */
+        private static int trimLength(char[] buffer, int length) {
+            int dot = length - 1;
+            while (dot >= 0 && buffer[dot] != '.') {
+                dot--;
+            }
+            if (dot < 0) {
+                return length;
+            }
+            while (length > dot + 1 && buffer[length - 1] == '0') {
+                length--;
             }
+            return length == dot + 1 ? dot : length;
         }
     }
 
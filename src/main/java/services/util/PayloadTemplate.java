@@ -0,0 +1,278 @@
+package services.util;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static services.util.HelperJson.*;
+
+/**
+ * PayloadTemplate<br/> Шаблон сообщения для массовой генерации Kafka/REST payload.<br/>
+ * Шаблон один раз сериализуется и разбивается на постоянные сегменты байт и слоты вида ${name}.
+ * При формировании сообщения постоянные сегменты копируются как есть, повторно сериализуются только
+ * значения слотов, полученные из привязанных стратегий.
+ * <pre>
+ *     Пример:
+ *     шаблон:
+ *     ==> {"id": "${id}", "amount": "${amount}", "comment": "Платеж ${id}"}
+ *     PayloadTemplate template = PayloadTemplate.fromFile("payment.json")
+ *             .bind("id", GeneratorValue::generateId)
+ *             .bind("amount", () -> GeneratorValue.generateLong(1, 1000));
+ *     сформированное сообщение:
+ *     ==> {"id":"5f0c...","amount":512,"comment":"Платеж 5f0c..."}
+ * </pre>
+ * Слот, занимающий все строковое значение, заменяется json-значением (число, строка, объект).
+ * Слот внутри строки и слот в ключе объекта заменяются экранированным текстом значения.
+ * Слоты с одинаковым именем в рамках одного сообщения получают одно и то же значение.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PayloadTemplate {
+    private static final JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Постоянные сегменты, segments.length == slots.length + 1
+     */
+    byte[][] segments;
+    /**
+     * Индекс имени слота в names для каждой позиции слота
+     */
+    int[] slots;
+    /**
+     * Признак слота, занимающего все строковое значение (не ключ объекта)
+     */
+    boolean[] whole;
+    List<String> names;
+    Supplier<?>[] strategies;
+    /**
+     * Ожидаемый размер сообщения для начальной емкости буфера
+     */
+    int capacity;
+
+    private PayloadTemplate(String json) {
+        List<byte[]> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Boolean> whole = new ArrayList<>();
+        Map<String, Integer> names = new LinkedHashMap<>();
+        int start = 0;
+        int position = 0;
+        while ((position = json.indexOf('"', position)) != -1) {
+            int end = stringEnd(json, position);
+            boolean key = isKey(json, end + 1);
+            int from = position + 1;
+            int open;
+            while ((open = slotStart(json, from, end)) != -1) {
+                int close = indexOf(json, '}', open, end);
+                if (close == -1) {
+                    break;
+                }
+                boolean isWhole = !key && open == position + 1 && close == end - 1;
+                segments.add(json.substring(start, isWhole ? position : open).getBytes(StandardCharsets.UTF_8));
+                slots.add(names.computeIfAbsent(json.substring(open + 2, close), name -> names.size()));
+                whole.add(isWhole);
+                start = isWhole ? end + 1 : close + 1;
+                from = close + 1;
+            }
+            position = end + 1;
+        }
+        segments.add(json.substring(start).getBytes(StandardCharsets.UTF_8));
+
+        this.segments = segments.toArray(new byte[0][]);
+        this.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+        this.whole = new boolean[whole.size()];
+        for (int i = 0; i < whole.size(); i++) {
+            this.whole[i] = whole.get(i);
+        }
+        this.names = List.copyOf(names.keySet());
+        this.strategies = new Supplier<?>[names.size()];
+        this.capacity = segments.stream().mapToInt(segment -> segment.length).sum() + 32 * slots.size();
+    }
+
+    /**
+     * Метод возвращает позицию закрывающей кавычки строки, начинающейся в позиции quote
+     */
+    private static int stringEnd(String json, int quote) {
+        int i = quote + 1;
+        while (json.charAt(i) != '"') {
+            i += json.charAt(i) == '\\' ? 2 : 1;
+        }
+        return i;
+    }
+
+    /**
+     * Метод возвращает позицию начала слота ${ в интервале [from, end) или -1
+     */
+    private static int slotStart(String json, int from, int end) {
+        for (int i = indexOf(json, '$', from, end); i != -1; i = indexOf(json, '$', i + 1, end)) {
+            if (i + 1 < end && json.charAt(i + 1) == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Метод возвращает позицию символа в интервале [from, end) или -1
+     */
+    private static int indexOf(String json, char symbol, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (json.charAt(i) == symbol) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Метод проверяет, является ли строка, закончившаяся перед позицией from, ключом объекта
+     */
+    private static boolean isKey(String json, int from) {
+        for (int i = from; i < json.length(); i++) {
+            if (!Character.isWhitespace(json.charAt(i))) {
+                return json.charAt(i) == ':';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Метод создает шаблон из json
+     *
+     * @param jsonNode json шаблона
+     * @return шаблон без привязанных стратегий
+     */
+    public static PayloadTemplate of(JsonNode jsonNode) {
+        return new PayloadTemplate(convertObjectToJson(jsonNode));
+    }
+
+    /**
+     * Метод создает шаблон из json в виде строки
+     *
+     * @param json json шаблона
+     * @return шаблон без привязанных стратегий
+     */
+    public static PayloadTemplate of(String json) {
+        return of(convertStringToJsonNode(json));
+    }
+
+    /**
+     * Метод создает шаблон из json-файла
+     *
+     * @param directory путь к файлу шаблона
+     * @return шаблон без привязанных стратегий
+     */
+    public static PayloadTemplate fromFile(String directory) {
+        return of(readJsonFromFile(directory));
+    }
+
+    /**
+     * Метод привязывает стратегию генерации значения к слоту
+     *
+     * @param name     имя слота без ${}
+     * @param strategy стратегия генерации значения
+     * @return текущий шаблон
+     */
+    public PayloadTemplate bind(String name, Supplier<?> strategy) {
+        int index = names.indexOf(name);
+        if (index == -1) {
+            throw new IllegalArgumentException("В шаблоне отсутствует слот " + name);
+        }
+        strategies[index] = strategy;
+        return this;
+    }
+
+    /**
+     * Метод возвращает имена слотов шаблона в порядке их появления
+     *
+     * @return имена слотов
+     */
+    public List<String> getSlots() {
+        return names;
+    }
+
+    /**
+     * Метод формирует сообщение в виде массива байт UTF-8
+     *
+     * @return сформированное сообщение
+     */
+    public byte[] render() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(capacity);
+        render(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Метод формирует сообщение в виде строки
+     *
+     * @return сформированное сообщение
+     */
+    public String renderToString() {
+        return new String(render(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Метод записывает сформированное сообщение в поток
+     *
+     * @param out поток для записи
+     */
+    public void render(OutputStream out) {
+        Object[] values = new Object[strategies.length];
+        boolean[] resolved = new boolean[strategies.length];
+        try {
+            out.write(segments[0]);
+            for (int i = 0; i < slots.length; i++) {
+                int name = slots[i];
+                if (!resolved[name]) {
+                    if (strategies[name] == null) {
+                        throw new IllegalStateException("Не задана стратегия для слота " + names.get(name));
+                    }
+                    values[name] = strategies[name].get();
+                    resolved[name] = true;
+                }
+                out.write(whole[i] ? toJsonValue(values[name]) : encoder.quoteAsUTF8(String.valueOf(values[name])));
+                out.write(segments[i + 1]);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Ошибка при записи сообщения", ex);
+        }
+    }
+
+    private static byte[] toJsonValue(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof Number && !(value instanceof BigDecimal) && !isNonFinite(value) || value instanceof Boolean) {
+            return value.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        if (value instanceof CharSequence || isNonFinite(value)) {
+            byte[] quoted = encoder.quoteAsUTF8(value.toString());
+            byte[] result = new byte[quoted.length + 2];
+            result[0] = '"';
+            System.arraycopy(quoted, 0, result, 1, quoted.length);
+            result[result.length - 1] = '"';
+            return result;
+        }
+        return convertObjectToJson(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * NaN и бесконечности не являются json-числами, поэтому, как и в Jackson, пишутся строкой
+     */
+    private static boolean isNonFinite(Object value) {
+        return value instanceof Double number && !Double.isFinite(number)
+                || value instanceof Float single && !Float.isFinite(single);
+    }
+}
@@ -0,0 +1,396 @@
+package services.util;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.BasicAutomata;
+import dk.brics.automaton.RegExp;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * RegexGenerator<br/> Генератор строк, соответствующих регулярному выражению (IBAN, телефон, номера документов).<br/>
+ * Выражение один раз компилируется в минимальный автомат dk.brics.automaton, который раскладывается в массивы.
+ * Строка строится случайным обходом автомата: переходы в состояния, из которых недостижимо допускающее
+ * состояние, удалены заранее, поэтому обход не требует возвратов и отбраковки.<br/>
+ * Скомпилированные генераторы хранятся в LRU-кэше по тексту выражения.
+ * <pre>
+ *     Пример:
+ *     RegexGenerator.of("\\+7 \\(9\\d{2}\\) \\d{3}-\\d{2}-\\d{2}").next();
+ *     ==> +7 (912) 345-67-89
+ * </pre>
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RegexGenerator {
+    /**
+     * Максимальное количество скомпилированных выражений в кэше
+     */
+    private static final int CACHE_SIZE = 256;
+    /**
+     * Длина, после которой обход идет кратчайшим путем к допускающему состоянию
+     */
+    private static final int DEFAULT_SOFT_LENGTH = 32;
+    /**
+     * Алфавит генерируемых символов: печатные ASCII и кириллица
+     */
+    private static final Automaton ALPHABET = BasicAutomata.makeCharRange(' ', '~')
+            .union(BasicAutomata.makeCharRange('Ѐ', 'ӿ'))
+            .repeat();
+    private static final IntPredicate DIGIT = c -> c >= '0' && c <= '9';
+    private static final IntPredicate WORD = c -> DIGIT.test(c) || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';
+    private static final IntPredicate SPACE = c -> " \t\n\u000B\f\r".indexOf(c) >= 0;
+    private static final Map<String, RegexGenerator> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, RegexGenerator> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    String pattern;
+    int softLength;
+    @Getter(AccessLevel.NONE)
+    boolean[] accept;
+    /**
+     * Расстояние от состояния до ближайшего допускающего состояния
+     */
+    @Getter(AccessLevel.NONE)
+    int[] distance;
+    @Getter(AccessLevel.NONE)
+    char[][] mins;
+    @Getter(AccessLevel.NONE)
+    int[][] dests;
+    /**
+     * Накопленное количество символов по переходам состояния, для равновероятного выбора следующего символа
+     */
+    @Getter(AccessLevel.NONE)
+    int[][] weights;
+
+    private RegexGenerator(String pattern, int softLength) {
+        this.pattern = pattern;
+        this.softLength = softLength;
+        Automaton automaton = new RegExp(translate(pattern), RegExp.NONE).toAutomaton().intersection(ALPHABET);
+        automaton.minimize();
+
+        List<State> states = new ArrayList<>();
+        Map<State, Integer> index = new HashMap<>();
+        states.add(automaton.getInitialState());
+        index.put(automaton.getInitialState(), 0);
+        for (int i = 0; i < states.size(); i++) {
+            for (Transition transition : states.get(i).getSortedTransitions(false)) {
+                if (!index.containsKey(transition.getDest())) {
+                    index.put(transition.getDest(), states.size());
+                    states.add(transition.getDest());
+                }
+            }
+        }
+
+        int size = states.size();
+        accept = new boolean[size];
+        distance = new int[size];
+        List<List<Integer>> reverse = new ArrayList<>(size);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            reverse.add(new ArrayList<>());
+            accept[i] = states.get(i).isAccept();
+            distance[i] = accept[i] ? 0 : Integer.MAX_VALUE;
+            if (accept[i]) {
+                queue.add(i);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (Transition transition : states.get(i).getTransitions()) {
+                reverse.get(index.get(transition.getDest())).add(i);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int source : reverse.get(state)) {
+                if (distance[source] == Integer.MAX_VALUE) {
+                    distance[source] = distance[state] + 1;
+                    queue.add(source);
+                }
+            }
+        }
+        if (distance[0] == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Регулярное выражение не допускает ни одной строки: " + pattern);
+        }
+
+        mins = new char[size][];
+        dests = new int[size][];
+        weights = new int[size][];
+        for (int i = 0; i < size; i++) {
+            List<Transition> transitions = states.get(i).getSortedTransitions(false)
+                    .stream()
+                    .filter(transition -> distance[index.get(transition.getDest())] != Integer.MAX_VALUE)
+                    .toList();
+            mins[i] = new char[transitions.size()];
+            dests[i] = new int[transitions.size()];
+            weights[i] = new int[transitions.size()];
+            int total = 0;
+            for (int j = 0; j < transitions.size(); j++) {
+                Transition transition = transitions.get(j);
+                total += transition.getMax() - transition.getMin() + 1;
+                mins[i][j] = transition.getMin();
+                dests[i][j] = index.get(transition.getDest());
+                weights[i][j] = total;
+            }
+        }
+    }
+
+    /**
+     * Метод возвращает скомпилированный генератор для выражения из кэша.<br/>
+     * Компиляция выполняется вне блокировки кэша, поэтому не задерживает обращения к другим выражениям.
+     * При одновременной компиляции одного выражения в кэше остается первый результат
+     *
+     * @param pattern регулярное выражение
+     * @return генератор строк
+     */
+    public static RegexGenerator of(String pattern) {
+        RegexGenerator generator = cache.get(pattern);
+        if (generator != null) {
+            return generator;
+        }
+        generator = new RegexGenerator(pattern, DEFAULT_SOFT_LENGTH);
+        RegexGenerator existing = cache.putIfAbsent(pattern, generator);
+        return existing != null ? existing : generator;
+    }
+
+    /**
+     * Метод создает генератор с собственной границей длины, без использования кэша.<br/>
+     * После достижения softLength обход идет кратчайшим путем к концу строки
+     *
+     * @param pattern    регулярное выражение
+     * @param softLength желательная максимальная длина строки для неограниченных выражений
+     * @return генератор строк
+     */
+    public static RegexGenerator of(String pattern, int softLength) {
+        return new RegexGenerator(pattern, softLength);
+    }
+
+    /**
+     * Метод генерирует строку, соответствующую выражению.<br/>
+     * В допускающем состоянии, из которого есть переходы, генерация завершается с вероятностью 1/2
+     *
+     * @return сгенерированная строка
+     */
+    public String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder builder = new StringBuilder(softLength);
+        int state = 0;
+        while (true) {
+            int count = dests[state].length;
+            if (accept[state] && (count == 0 || builder.length() >= softLength || random.nextBoolean())) {
+                return builder.toString();
+            }
+            int transition;
+            int offset;
+            if (builder.length() < softLength) {
+                int value = random.nextInt(weights[state][count - 1]);
+                transition = 0;
+                while (weights[state][transition] <= value) {
+                    transition++;
+                }
+                offset = value - (transition == 0 ? 0 : weights[state][transition - 1]);
+            } else {
+                transition = shortest(state, random);
+                int width = weights[state][transition] - (transition == 0 ? 0 : weights[state][transition - 1]);
+                offset = random.nextInt(width);
+            }
+            builder.append((char) (mins[state][transition] + offset));
+            state = dests[state][transition];
+        }
+    }
+
+    /**
+     * Метод выбирает случайный переход, приближающий к допускающему состоянию
+     */
+    private int shortest(int state, ThreadLocalRandom random) {
+        int result = -1;
+        int found = 0;
+        for (int i = 0; i < dests[state].length; i++) {
+            if (distance[dests[state][i]] == distance[state] - 1 && random.nextInt(++found) == 0) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Метод приводит выражение в стиле java.util.regex к синтаксису dk.brics.automaton:<br/>
+     * - отбрасывает якоря ^ в начале и $ в конце выражения<br/>
+     * - раскрывает классы \\d, \\w, \\s и их отрицания, в том числе внутри [...]<br/>
+     * - заменяет управляющие последовательности \\t, \\n, \\xhh, \\uhhhh и т.п. символами<br/>
+     * - экранирует символы, имеющие в dk.brics.automaton особый смысл (например, ")<br/>
+     * - группы (?:...) и (?&lt;name&gt;...) заменяет обычными группами<br/>
+     * Конструкции, для которых нельзя сгенерировать строку, гарантированно соответствующую выражению
+     * (границы слов, \\p{..}, обратные ссылки, lookaround, флаги, possessive-квантификаторы,
+     * вложенные классы и т.п.), отклоняются с IllegalArgumentException
+     *
+     * @param pattern регулярное выражение
+     * @return выражение в синтаксисе dk.brics.automaton
+     */
+    private static String translate(String pattern) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16);
+        int length = pattern.length();
+        boolean inClass = false;
+        int classStart = 0;
+        boolean quantified = false;
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            boolean quantifier = false;
+            if (c == '\\') {
+                if (i + 1 == length) {
+                    throw unsupported("\\ в конце выражения", pattern);
+                }
+                char next = pattern.charAt(++i);
+                IntPredicate predefined = switch (next) {
+                    case 'd', 'D' -> DIGIT;
+                    case 'w', 'W' -> WORD;
+                    case 's', 'S' -> SPACE;
+                    default -> null;
+                };
+                if (predefined != null) {
+                    String ranges = ranges(Character.isUpperCase(next) ? predefined.negate() : predefined);
+                    builder.append(inClass ? ranges : "[" + ranges + "]");
+                } else {
+                    char literal = switch (next) {
+                        case 't' -> '\t';
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        case 'f' -> '\f';
+                        case 'a' -> '\u0007';
+                        case 'e' -> '\u001B';
+                        case 'x' -> hex(pattern, i + 1, 2);
+                        case 'u' -> hex(pattern, i + 1, 4);
+                        default -> {
+                            if (Character.isLetterOrDigit(next)) {
+                                throw unsupported("\\" + next, pattern);
+                            }
+                            yield next;
+                        }
+                    };
+                    i += next == 'x' ? 2 : next == 'u' ? 4 : 0;
+                    builder.append('\\').append(literal);
+                }
+            } else if (inClass) {
+                if (c == ']' && i > classStart) {
+                    inClass = false;
+                    builder.append(c);
+                } else if (c == '[' || c == '&' && i + 1 < length && pattern.charAt(i + 1) == '&') {
+                    throw unsupported("вложенный класс или пересечение классов", pattern);
+                } else if (c == '-' && i > classStart && i + 1 < length && pattern.charAt(i + 1) != ']') {
+                    builder.append(c);
+                } else {
+                    builder.append('\\').append(c);
+                }
+            } else {
+                switch (c) {
+                    case '[' -> {
+                        inClass = true;
+                        builder.append(c);
+                        if (i + 1 < length && pattern.charAt(i + 1) == '^') {
+                            builder.append(pattern.charAt(++i));
+                        }
+                        classStart = i + 1;
+                    }
+                    case '(' -> {
+                        builder.append(c);
+                        if (pattern.startsWith("(?:", i)) {
+                            i += 2;
+                        } else if (pattern.startsWith("(?<", i) && i + 3 < length
+                                && Character.isLetter(pattern.charAt(i + 3))) {
+                            i = pattern.indexOf('>', i);
+                            if (i < 0) {
+                                throw unsupported("незакрытое имя группы", pattern);
+                            }
+                        } else if (pattern.startsWith("(?", i)) {
+                            throw unsupported("конструкция (?", pattern);
+                        }
+                    }
+                    case '{' -> {
+                        int close = pattern.indexOf('}', i);
+                        if (close < 0 || !pattern.substring(i + 1, close).matches("\\d+(,\\d*)?")) {
+                            throw unsupported("квантификатор " + pattern.substring(i), pattern);
+                        }
+                        builder.append(pattern, i, close + 1);
+                        i = close;
+                        quantifier = true;
+                    }
+                    case '*', '+', '?' -> {
+                        if (quantified && c == '+') {
+                            throw unsupported("possessive-квантификатор", pattern);
+                        }
+                        builder.append(c);
+                        quantifier = c != '?' || !quantified;
+                    }
+                    case '^' -> {
+                        if (i != 0) {
+                            throw unsupported("якорь ^ внутри выражения", pattern);
+                        }
+                    }
+                    case '$' -> {
+                        if (i != length - 1) {
+                            throw unsupported("якорь $ внутри выражения", pattern);
+                        }
+                    }
+                    case '.', '|', ')' -> builder.append(c);
+                    default -> {
+                        if (!Character.isLetterOrDigit(c)) {
+                            builder.append('\\');
+                        }
+                        builder.append(c);
+                    }
+                }
+            }
+            quantified = quantifier;
+        }
+        if (inClass) {
+            throw unsupported("незакрытый класс символов", pattern);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Метод записывает символы, удовлетворяющие условию, диапазонами класса символов dk.brics.automaton
+     */
+    private static String ranges(IntPredicate predicate) {
+        StringBuilder builder = new StringBuilder();
+        int c = Character.MIN_VALUE;
+        while (c <= Character.MAX_VALUE) {
+            if (!predicate.test(c)) {
+                c++;
+                continue;
+            }
+            int start = c;
+            while (c + 1 <= Character.MAX_VALUE && predicate.test(c + 1)) {
+                c++;
+            }
+            builder.append('\\').append((char) start);
+            if (c > start) {
+                builder.append('-').append('\\').append((char) c);
+            }
+            c++;
+        }
+        return builder.toString();
+    }
+
+    private static char hex(String pattern, int offset, int digits) {
+        if (offset + digits > pattern.length()
+                || !pattern.substring(offset, offset + digits).matches("[0-9a-fA-F]+")) {
+            throw unsupported("шестнадцатеричный код символа", pattern);
+        }
+        return (char) Integer.parseInt(pattern.substring(offset, offset + digits), 16);
+    }
+
+    private static IllegalArgumentException unsupported(String construct, String pattern) {
+        return new IllegalArgumentException(
+                "Неподдерживаемая конструкция регулярного выражения (" + construct + "): " + pattern);
+    }
+}
@@ -0,0 +1,35 @@
+package services.util;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.nio.file.Path;
+
+/**
+ * ShardedAllureSessionListener<br/> Шардированная запись результатов Allure при allure.results.sharded=true.<br/>
+ * Каждый fork пишет результаты в свою директорию внутри allure.results.directory
+ * (allure-result/shard-1, allure-result/shard-2, ...), поэтому файлы результатов распределены по директориям,
+ * а отчет строится по всем директориям сразу (allure generate принимает несколько директорий результатов).
+ * Результаты пишутся стандартным FileSystemResultsWriter сразу по завершении теста, поэтому прерванный fork
+ * сохраняет все завершенные результаты.<br/>
+ * Listener создается JUnit до загрузки AllureJunitPlatform, поэтому lifecycle с записью в директорию шарда
+ * устанавливается в конструкторе. Настройки задаются системными свойствами:
+ * <pre>
+ *     - allure.results.sharded - включить шардированную запись
+ *     - allure.results.directory - директория для директорий шардов (по умолчанию allure-results)
+ *     - allure.shard - имя шарда, например shard-${surefire.forkNumber} (по умолчанию shard-pid процесса)
+ * </pre>
+ */
+public class ShardedAllureSessionListener implements LauncherSessionListener {
+
+    public ShardedAllureSessionListener() {
+        if (Boolean.getBoolean("allure.results.sharded")) {
+            Allure.setLifecycle(new AllureLifecycle(new FileSystemResultsWriter(
+                    Path.of(System.getProperty("allure.results.directory", "allure-results"))
+                            .resolve(System.getProperty("allure.shard", "shard-" + ProcessHandle.current().pid()))
+            )));
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package services.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * TimestampRange<br/> Переиспользуемый генератор значений Timestamp из диапазона.<br/>
+ * Границы диапазона разбираются один раз при создании и хранятся в epoch millis,
+ * обе границы интерпретируются в одном и том же часовом поясе.
+ * <pre>
+ *     Пример:
+ *     TimestampRange range = TimestampRange.of("2024-01-01T00:00", "2024-12-31T23:59")
+ *             .withDistribution(TimestampRange.Distribution.businessHours());
+ *     long[] values = range.millis(1_000_000).toArray();
+ * </pre>
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TimestampRange {
+    /**
+     * Нижняя граница диапазона в epoch millis (включительно)
+     */
+    long lower;
+    /**
+     * Верхняя граница диапазона в epoch millis (включительно)
+     */
+    long upper;
+    /**
+     * Часовой пояс, в котором интерпретируются границы диапазона
+     */
+    ZoneId zone;
+    /**
+     * Распределение генерируемых значений
+     */
+    Distribution distribution;
+
+    private TimestampRange(long lower, long upper, ZoneId zone, Distribution distribution) {
+        if (lower > upper) {
+            throw new IllegalArgumentException("Нижняя граница диапазона больше верхней");
+        }
+        this.lower = lower;
+        this.upper = upper;
+        this.zone = zone;
+        this.distribution = distribution;
+    }
+
+    /**
+     * Метод создает диапазон из границ в формате uuuu-MM-dd'T'HH:mm в системном часовом поясе
+     *
+     * @param of нижняя граница диапазона(включительно), при null - начало эпохи
+     * @param to верхняя граница диапазона(включительно), при null - текущий момент
+     * @return диапазон с равномерным распределением
+     */
+    public static TimestampRange of(String of, String to) {
+        return of(of, to, ZoneId.systemDefault());
+    }
+
+    /**
+     * Метод создает диапазон из границ в формате uuuu-MM-dd'T'HH:mm в переданном часовом поясе
+     *
+     * @param of   нижняя граница диапазона(включительно), при null - начало эпохи
+     * @param to   верхняя граница диапазона(включительно), при null - текущий момент
+     * @param zone часовой пояс границ
+     * @return диапазон с равномерным распределением
+     */
+    public static TimestampRange of(String of, String to, ZoneId zone) {
+        return new TimestampRange(
+                of == null ? 0L : LocalDateTime.parse(of).atZone(zone).toInstant().toEpochMilli(),
+                to == null ? System.currentTimeMillis() : LocalDateTime.parse(to).atZone(zone).toInstant().toEpochMilli(),
+                zone,
+                Distribution.uniform()
+        );
+    }
+
+    /**
+     * Метод создает диапазон из границ в виде Instant
+     *
+     * @param of   нижняя граница диапазона(включительно)
+     * @param to   верхняя граница диапазона(включительно)
+     * @param zone часовой пояс, используемый распределениями
+     * @return диапазон с равномерным распределением
+     */
+    public static TimestampRange of(Instant of, Instant to, ZoneId zone) {
+        return new TimestampRange(of.toEpochMilli(), to.toEpochMilli(), zone, Distribution.uniform());
+    }
+
+    /**
+     * Метод возвращает копию диапазона с другим распределением
+     *
+     * @param distribution распределение значений
+     * @return новый диапазон
+     */
+    public TimestampRange withDistribution(Distribution distribution) {
+        return new TimestampRange(lower, upper, zone, distribution);
+    }
+
+    /**
+     * Метод генерирует значение в epoch millis
+     *
+     * @return сгенерированное значение
+     */
+    public long nextMillis() {
+        return distribution.next(this, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Метод генерирует значение Timestamp
+     *
+     * @return сгенерированное значение
+     */
+    public Timestamp next() {
+        return new Timestamp(nextMillis());
+    }
+
+    /**
+     * Метод генерирует поток значений в epoch millis согласно распределению
+     *
+     * @param count количество значений
+     * @return поток значений
+     */
+    public LongStream millis(long count) {
+        return LongStream.generate(this::nextMillis).limit(count);
+    }
+
+    /**
+     * Метод генерирует поток значений Timestamp согласно распределению
+     *
+     * @param count количество значений
+     * @return поток значений
+     */
+    public Stream<Timestamp> timestamps(long count) {
+        return millis(count).mapToObj(Timestamp::new);
+    }
+
+    /**
+     * Метод генерирует возрастающий поток значений с равным шагом от нижней до верхней границы
+     *
+     * @param count количество значений
+     * @return поток значений
+     */
+    public LongStream evenly(int count) {
+        if (count == 1) {
+            return LongStream.of(lower);
+        }
+        double step = (double) (upper - lower) / (count - 1);
+        return LongStream.range(0, count).map(i -> i == count - 1 ? upper : lower + (long) (i * step));
+    }
+
+    /**
+     * Распределение значений внутри диапазона.<br/>
+     * Реализация должна возвращать значение в границах [lower, upper] диапазона
+     */
+    @FunctionalInterface
+    public interface Distribution {
+        long next(TimestampRange range, ThreadLocalRandom random);
+
+        /**
+         * Равномерное распределение по всему диапазону
+         */
+        static Distribution uniform() {
+            return (range, random) -> random.nextLong(range.lower, range.upper + 1);
+        }
+
+        /**
+         * Нормальное распределение вокруг момента создания распределения
+         *
+         * @param deviation стандартное отклонение
+         */
+        static Distribution aroundNow(Duration deviation) {
+            return around(Instant.now(), deviation);
+        }
+
+        /**
+         * Нормальное распределение вокруг переданного момента, усеченное границами диапазона.<br/>
+         * Значения вне диапазона не прижимаются к границам, а разыгрываются заново, поэтому центр
+         * за пределами диапазона (например, aroundNow для диапазона, заканчивающегося текущим моментом)
+         * не дает скопления значений на границе
+         *
+         * @param center    центр распределения
+         * @param deviation стандартное отклонение
+         */
+        static Distribution around(Instant center, Duration deviation) {
+            if (deviation.isNegative() || deviation.isZero()) {
+                throw new IllegalArgumentException("Стандартное отклонение должно быть положительным");
+            }
+            return new TruncatedNormal(center.toEpochMilli(), deviation.toMillis());
+        }
+
+        /**
+         * Равномерное распределение по рабочим часам 09:00 - 18:00 с понедельника по пятницу
+         */
+        static Distribution businessHours() {
+            return businessHours(LocalTime.of(9, 0), LocalTime.of(18, 0));
+        }
+
+        /**
+         * Равномерное распределение по переданному интервалу времени с понедельника по пятницу
+         * в часовом поясе диапазона.<br/>
+         * Значения распределены равномерно по рабочим часам, попадающим в [lower, upper] диапазона,
+         * неполные первый и последний дни учитываются с меньшим весом.
+         * Если диапазон не содержит рабочих часов, генерация завершается IllegalArgumentException
+         *
+         * @param from начало рабочего дня(включительно)
+         * @param to   окончание рабочего дня(не включительно)
+         */
+        static Distribution businessHours(LocalTime from, LocalTime to) {
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("Начало рабочего дня должно быть раньше окончания");
+            }
+            return new BusinessHours(from.toNanoOfDay() / 1_000_000, to.toNanoOfDay() / 1_000_000);
+        }
+    }
+
+    /**
+     * Нормальное распределение, усеченное границами диапазона.<br/>
+     * Сначала значение разыгрывается несколько раз подряд из полного нормального распределения, если диапазон
+     * содержит малую часть распределения, значение вычисляется через обратную функцию распределения
+     */
+    private static final class TruncatedNormal implements Distribution {
+        private static final int ATTEMPTS = 16;
+        private final long center;
+        private final double deviation;
+
+        private TruncatedNormal(long center, double deviation) {
+            this.center = center;
+            this.deviation = deviation;
+        }
+
+        @Override
+        public long next(TimestampRange range, ThreadLocalRandom random) {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                long value = center + (long) Math.floor(random.nextGaussian() * deviation);
+                if (value >= range.lower && value <= range.upper) {
+                    return value;
+                }
+            }
+            double from = (range.lower - center) / deviation;
+            double to = (range.upper + 1 - center) / deviation;
+            // для диапазона правее центра считаем по симметричному левому хвосту, где значения cdf не теряют точность
+            boolean mirrored = from > 0;
+            double lowerCdf = mirrored ? cdf(-to) : cdf(from);
+            double upperCdf = mirrored ? cdf(-from) : cdf(to);
+            double x = upperCdf > lowerCdf
+                    ? inverseCdf(Math.max(Double.MIN_VALUE, lowerCdf + random.nextDouble() * (upperCdf - lowerCdf)))
+                    : mirrored ? -from : to;
+            long value = center + (long) Math.floor((mirrored ? -x : x) * deviation);
+            // ограничение компенсирует только погрешность аппроксимаций на границах
+            return Math.max(range.lower, Math.min(range.upper, value));
+        }
+
+        /**
+         * Функция стандартного нормального распределения через erfc, относительная погрешность не более 1.2e-7
+         */
+        private static double cdf(double x) {
+            double z = Math.abs(x) / Math.sqrt(2);
+            double t = 1 / (1 + 0.5 * z);
+            double erfc = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                    + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                    + t * (-0.82215223 + t * 0.17087277)))))))));
+            return x >= 0 ? 1 - erfc / 2 : erfc / 2;
+        }
+
+        /**
+         * Обратная функция стандартного нормального распределения (аппроксимация Acklam),
+         * относительная погрешность не более 1.15e-9
+         */
+        private static double inverseCdf(double p) {
+            if (p < 0.02425) {
+                double q = Math.sqrt(-2 * Math.log(p));
+                return tail(q);
+            }
+            if (p > 1 - 0.02425) {
+                double q = Math.sqrt(-2 * Math.log(1 - p));
+                return -tail(q);
+            }
+            double q = p - 0.5;
+            double r = q * q;
+            return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                    + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                    / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                    + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+        }
+
+        private static double tail(double q) {
+            return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                    - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                    / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                    + 3.754408661907416e+00) * q + 1);
+        }
+    }
+
+    /**
+     * Распределение по рабочим часам. Разбиение диапазона на рабочие дни вычисляется один раз
+     * для последнего использованного диапазона
+     */
+    private static final class BusinessHours implements Distribution {
+        private final long fromMillis;
+        private final long toMillis;
+        private volatile Plan plan;
+
+        private BusinessHours(long fromMillis, long toMillis) {
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+        }
+
+        @Override
+        public long next(TimestampRange range, ThreadLocalRandom random) {
+            Plan current = plan;
+            if (current == null || current.range != range) {
+                current = new Plan(range);
+                plan = current;
+            }
+            long offset = random.nextLong(current.total);
+            LocalDate date;
+            long millisOfDay;
+            if (offset < current.firstLength) {
+                date = current.first;
+                millisOfDay = current.firstFrom + offset;
+            } else if (offset < current.firstLength + current.lastLength) {
+                date = current.last;
+                millisOfDay = fromMillis + offset - current.firstLength;
+            } else {
+                offset -= current.firstLength + current.lastLength;
+                date = weekday(current.first.plusDays(1), offset / (toMillis - fromMillis));
+                millisOfDay = fromMillis + offset % (toMillis - fromMillis);
+            }
+            long value = ZonedDateTime.of(date, LocalTime.ofNanoOfDay(millisOfDay * 1_000_000), range.zone)
+                    .toInstant()
+                    .toEpochMilli();
+            return Math.max(range.lower, Math.min(range.upper, value));
+        }
+
+        /**
+         * Метод возвращает рабочий день с порядковым номером index (с 0), начиная с переданной даты
+         */
+        private static LocalDate weekday(LocalDate start, long index) {
+            LocalDate date = start;
+            while (isWeekend(date)) {
+                date = date.plusDays(1);
+            }
+            date = date.plusWeeks(index / 5);
+            for (long i = index % 5; i > 0; i--) {
+                do {
+                    date = date.plusDays(1);
+                } while (isWeekend(date));
+            }
+            return date;
+        }
+
+        /**
+         * Метод возвращает количество рабочих дней в интервале [start, end]
+         */
+        private static long weekdays(LocalDate start, LocalDate end) {
+            if (start.isAfter(end)) {
+                return 0;
+            }
+            long days = end.toEpochDay() - start.toEpochDay() + 1;
+            long count = days / 7 * 5;
+            LocalDate date = start.plusDays(days / 7 * 7);
+            for (; !date.isAfter(end); date = date.plusDays(1)) {
+                if (!isWeekend(date)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private static boolean isWeekend(LocalDate date) {
+            return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+        }
+
+        /**
+         * Разбиение диапазона: неполный первый день, неполный последний день и полные рабочие дни между ними.
+         * Время дня хранится в миллисекундах от начала дня
+         */
+        private final class Plan {
+            final TimestampRange range;
+            final LocalDate first;
+            final LocalDate last;
+            final long firstFrom;
+            final long firstLength;
+            final long lastLength;
+            final long total;
+
+            Plan(TimestampRange range) {
+                this.range = range;
+                ZonedDateTime lower = Instant.ofEpochMilli(range.lower).atZone(range.zone);
+                ZonedDateTime upper = Instant.ofEpochMilli(range.upper).atZone(range.zone);
+                first = lower.toLocalDate();
+                last = upper.toLocalDate();
+                long lowerMillis = lower.toLocalTime().toNanoOfDay() / 1_000_000;
+                long upperMillis = upper.toLocalTime().toNanoOfDay() / 1_000_000 + 1;
+                firstFrom = Math.max(fromMillis, lowerMillis);
+                long firstTo = first.equals(last) ? Math.min(toMillis, upperMillis) : toMillis;
+                firstLength = isWeekend(first) ? 0 : Math.max(0, firstTo - firstFrom);
+                lastLength = first.equals(last) || isWeekend(last)
+                        ? 0
+                        : Math.max(0, Math.min(toMillis, upperMillis) - fromMillis);
+                total = firstLength + lastLength
+                        + weekdays(first.plusDays(1), last.minusDays(1)) * (toMillis - fromMillis);
+                if (total <= 0) {
+                    throw new IllegalArgumentException("Диапазон не содержит рабочих часов");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package services;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.*;
+
+/**
+ * Аннотация поднимает облегченный контекст (профиль slim) с ленивой инициализацией бинов и без JDBC/JPA.<br/>
+ * Все тестовые классы с этой аннотацией имеют одинаковую конфигурацию и переиспользуют
+ * один закэшированный контекст в рамках JVM, поэтому тестовые классы не должны добавлять свои свойства или профили.<br/>
+ * Kafka работает на встроенном брокере (kafka.mode=embedded), брокер запускается лениво при первом обращении к Kafka.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("slim")
+@TestPropertySource(properties = "kafka.mode=embedded")
+public @interface SlimSpringTest {
+}
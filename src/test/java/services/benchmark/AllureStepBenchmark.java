@@ -0,0 +1,105 @@
+package services.benchmark;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.openjdk.jmh.annotations.*;
+import services.util.AllureStep;
+import services.util.GeneratorValue;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static services.util.AllureStep.Param;
+
+/**
+ * Замер запуска и остановки шагов AllureStep и прикрепления отличий ожидаемого и фактического объектов.<br/>
+ * Результаты не записываются на диск: используется AllureLifecycle с пустым writer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllureStepBenchmark {
+    AllureLifecycle lifecycle;
+    Map<String, Object> expected;
+    Map<String, Object> actual;
+
+    @Setup
+    public void setup() {
+        lifecycle = new AllureLifecycle(new AllureResultsWriter() {
+            @Override
+            public void write(TestResult testResult) {
+            }
+
+            @Override
+            public void write(TestResultContainer testResultContainer) {
+            }
+
+            @Override
+            public void write(String source, InputStream attachment) {
+            }
+        });
+        Allure.setLifecycle(lifecycle);
+        expected = new LinkedHashMap<>();
+        actual = new LinkedHashMap<>();
+        for (int i = 0; i < 30; i++) {
+            expected.put("field_" + i, "value_" + i);
+            actual.put("field_" + i, i % 10 == 0 ? "changed_" + i : "value_" + i);
+        }
+    }
+
+    @Benchmark
+    public void stepStartStop() {
+        String uuid = startTestCase();
+        AllureStep.step("Шаг 1. Отправка запроса", Param.of("id", 1), Param.of("name", "value"));
+        AllureStep.step("Проверка ответа");
+        AllureStep.addParam(Param.of("status", 200));
+        lifecycle.stopStep();
+        lifecycle.stopStep();
+        stopTestCase(uuid);
+    }
+
+    @Benchmark
+    public void stepLargeParam() {
+        String uuid = startTestCase();
+        AllureStep.step("Шаг 1. Отправка запроса", Param.of("request", actual));
+        AllureStep.step("last");
+        stopTestCase(uuid);
+    }
+
+    @Benchmark
+    public void stepLargeLazyParam() {
+        String uuid = startTestCase();
+        AllureStep.step("Шаг 1. Отправка запроса", Param.lazy("request", () -> actual));
+        AllureStep.step("last");
+        stopTestCase(uuid);
+    }
+
+    @Benchmark
+    public void diffAttachment() {
+        String uuid = startTestCase();
+        AllureStep.step("Шаг 1. Сравнение");
+        AllureStep.attachment(expected, actual);
+        lifecycle.stopStep();
+        stopTestCase(uuid);
+    }
+
+    private String startTestCase() {
+        String uuid = GeneratorValue.generateId();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("FIND-T01: Замер"));
+        lifecycle.startTestCase(uuid);
+        return uuid;
+    }
+
+    private void stopTestCase(String uuid) {
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
@@ -0,0 +1,127 @@
+package services.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Сравнение результатов JMH (-rf json) с базовыми результатами, снятыми на той же машине.<br/>
+ * Регрессией считается ухудшение основной метрики или рост gc.alloc.rate.norm больше чем на threshold процентов,
+ * при котором доверительные интервалы JMH (scoreError, 99.9%) базового и текущего результата не пересекаются,
+ * поэтому шум между итерациями не считается регрессией. Бенчмарки из базовых результатов, отсутствующие
+ * в текущем прогоне, выводятся отдельным списком.
+ * Если базовых результатов нет или передан флаг update, текущие результаты сохраняются как базовые.
+ * <pre>
+ *     Аргументы:
+ *     - путь к текущим результатам
+ *     - путь к базовым результатам
+ *     - порог в процентах
+ *     - update: true/false
+ * </pre>
+ */
+public class BenchmarkComparator {
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+    /**
+     * Рост аллокаций меньше этого значения в байтах на операцию не считается регрессией
+     */
+    private static final double ALLOC_NOISE_BYTES = 16;
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (update || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Базовые результаты сохранены: " + baseline);
+            return;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> current = index(mapper.readTree(result.toFile()));
+        Map<String, JsonNode> base = index(mapper.readTree(baseline.toFile()));
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = base.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s новый%n", entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            JsonNode primaryBefore = before.get("primaryMetric");
+            JsonNode primaryAfter = after.get("primaryMetric");
+            double scoreBefore = primaryBefore.get("score").asDouble();
+            double scoreAfter = primaryAfter.get("score").asDouble();
+            double change = (scoreAfter - scoreBefore) / scoreBefore * 100;
+            boolean higherIsBetter = "thrpt".equals(after.get("mode").asText());
+            boolean scoreRegression = higherIsBetter
+                    ? change < -threshold && above(primaryBefore, primaryAfter)
+                    : change > threshold && above(primaryAfter, primaryBefore);
+
+            JsonNode allocBefore = before.at("/secondaryMetrics/" + ALLOC_RATE_NORM);
+            JsonNode allocAfter = after.at("/secondaryMetrics/" + ALLOC_RATE_NORM);
+            boolean allocRegression = !allocBefore.isMissingNode() && !allocAfter.isMissingNode()
+                    && allocAfter.get("score").asDouble() - allocBefore.get("score").asDouble() > ALLOC_NOISE_BYTES
+                    && allocAfter.get("score").asDouble() > allocBefore.get("score").asDouble() * (1 + threshold / 100)
+                    && above(allocAfter, allocBefore);
+
+            String line = String.format("%-90s %+7.1f%% ±%.1f%% %s", entry.getKey(), change,
+                    error(primaryAfter) / scoreAfter * 100, primaryAfter.get("scoreUnit").asText());
+            if (!allocAfter.isMissingNode()) {
+                line += String.format("  alloc %.0f -> %.0f B/op",
+                        allocBefore.get("score").asDouble(), allocAfter.get("score").asDouble());
+            }
+            if (scoreRegression || allocRegression) {
+                line += "  РЕГРЕССИЯ";
+                regressions.add(entry.getKey());
+            }
+            System.out.println(line);
+        }
+        List<String> missing = base.keySet().stream().filter(key -> !current.containsKey(key)).toList();
+        missing.forEach(key -> System.out.printf("%-90s отсутствует в текущем прогоне%n", key));
+        if (!missing.isEmpty()) {
+            System.out.println("Не проверено бенчмарков из базовых результатов: " + missing.size());
+        }
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Обнаружены регрессии производительности: " + regressions);
+        }
+    }
+
+    /**
+     * Метод проверяет, что доверительный интервал higher целиком выше доверительного интервала lower
+     */
+    private static boolean above(JsonNode higher, JsonNode lower) {
+        return higher.get("score").asDouble() - error(higher) > lower.get("score").asDouble() + error(lower);
+    }
+
+    /**
+     * Метод возвращает полуширину доверительного интервала, для одной итерации JMH не вычисляет ее (NaN)
+     */
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(Double.NaN);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    /**
+     * Метод индексирует результаты по имени бенчмарка и его параметрам
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> index = new LinkedHashMap<>();
+        results.forEach(result -> {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                key.append(params);
+            }
+            index.put(key.toString(), result);
+        });
+        return index;
+    }
+}
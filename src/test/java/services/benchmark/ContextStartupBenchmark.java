@@ -0,0 +1,35 @@
+package services.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import services.Application;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер времени старта контекста Spring в новой JVM.<br/>
+ * slim - облегченный контекст без JDBC/JPA, full - полный контекст с JPA на встроенной БД H2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class ContextStartupBenchmark {
+    @Param({"slim", "full"})
+    String profile;
+
+    @Benchmark
+    public void start() {
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(Application.class)
+                .profiles(profile)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run()) {
+            // контекст закрывается сразу после старта
+        }
+    }
+}
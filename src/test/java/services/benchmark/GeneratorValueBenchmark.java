@@ -0,0 +1,51 @@
+package services.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import services.util.GeneratorValue;
+import services.util.TimestampRange;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер генерации значений GeneratorValue и TimestampRange
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorValueBenchmark {
+    TimestampRange range;
+
+    @Setup
+    public void setup() {
+        range = TimestampRange.of("2020-01-01T00:00", "2024-12-31T23:59");
+    }
+
+    @Benchmark
+    public String generateId() {
+        return GeneratorValue.generateId();
+    }
+
+    @Benchmark
+    public String generateString() {
+        return GeneratorValue.generateString(20, true, true);
+    }
+
+    @Benchmark
+    public Integer generateInteger() {
+        return GeneratorValue.generateInteger(0, 1000);
+    }
+
+    @Benchmark
+    public Timestamp generateTimestamp() {
+        return GeneratorValue.generateTimestamp("2020-01-01T00:00", "2024-12-31T23:59");
+    }
+
+    @Benchmark
+    public Timestamp timestampRange() {
+        return range.next();
+    }
+}
@@ -0,0 +1,59 @@
+package services.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.*;
+import services.util.HelperJson;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер преобразований HelperJson, в том числе сериализации строк БД с большим количеством колонок Timestamp
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelperJsonBenchmark {
+    @Param({"10", "50"})
+    int columns;
+
+    Map<String, Object> row;
+    String json;
+
+    @Setup
+    public void setup() {
+        row = new LinkedHashMap<>();
+        long base = Timestamp.valueOf("2024-03-15 10:20:30.120").getTime();
+        for (int i = 0; i < columns; i++) {
+            Timestamp timestamp = new Timestamp(base + i * 60_000L);
+            timestamp.setNanos(i % 2 == 0 ? 120_000_000 : 0);
+            row.put("column_" + i, timestamp);
+        }
+        json = HelperJson.convertObjectToJson(row);
+    }
+
+    @Benchmark
+    public String serializeRowTrim() {
+        return HelperJson.convertObjectToJson(row, true);
+    }
+
+    @Benchmark
+    public String serializeRowFull() {
+        return HelperJson.convertObjectToJson(row, false);
+    }
+
+    @Benchmark
+    public JsonNode convertStringToJsonNode() {
+        return HelperJson.convertStringToJsonNode(json);
+    }
+
+    @Benchmark
+    public String convertViewJson() {
+        return HelperJson.convertViewJson(json);
+    }
+}
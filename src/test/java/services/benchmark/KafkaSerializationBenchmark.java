@@ -0,0 +1,50 @@
+package services.benchmark;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import services.util.GeneratorValue;
+import services.util.HelperJson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер подготовки сообщения Kafka: сериализация объекта в json и в байты сериализатором,
+ * заданным в KafkaConfig.producerConfigs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaSerializationBenchmark {
+    private static final String TOPIC = "READ_TEST";
+
+    StringSerializer serializer;
+    Map<String, Object> payload;
+
+    @Setup
+    public void setup() {
+        serializer = new StringSerializer();
+        payload = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            payload.put("field_" + i, "value_" + i);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeValue() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("TYPE", "application".getBytes(StandardCharsets.UTF_8));
+        return serializer.serialize(TOPIC, headers, HelperJson.convertObjectToJson(payload));
+    }
+
+    @Benchmark
+    public byte[] serializeKey() {
+        return serializer.serialize(TOPIC, GeneratorValue.generateId());
+    }
+}
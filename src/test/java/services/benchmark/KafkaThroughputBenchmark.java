@@ -0,0 +1,64 @@
+package services.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.core.KafkaTemplate;
+import services.Application;
+import services.util.GeneratorValue;
+import services.util.PayloadTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер отправки сообщений через KafkaTemplate во встроенный брокер (kafka.mode=embedded).<br/>
+ * Операция - пачка из BATCH асинхронных отправок, после которой буфер producer'а сбрасывается и ожидаются
+ * подтверждения брокера, поэтому время доставки в брокер входит в замер
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaThroughputBenchmark {
+    private static final String TOPIC = "READ_TEST";
+    private static final int BATCH = 1_000;
+
+    ConfigurableApplicationContext context;
+    KafkaTemplate<Integer, String> kafkaTemplate;
+    PayloadTemplate payload;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("slim")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // аргумент командной строки, так как properties() ниже по приоритету, чем kafka.yml
+                .run("--kafka.mode=embedded");
+        kafkaTemplate = context.getBean(KafkaTemplate.class);
+        payload = PayloadTemplate.of("{\"id\": \"${id}\", \"amount\": \"${amount}\", \"currency\": \"RUB\"}")
+                .bind("id", GeneratorValue::generateId)
+                .bind("amount", () -> GeneratorValue.generateLong(1, 100_000));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object send() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = kafkaTemplate.send(TOPIC, payload.renderToString());
+        }
+        kafkaTemplate.flush();
+        return CompletableFuture.allOf(futures).join();
+    }
+}
@@ -0,0 +1,78 @@
+package services.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import services.util.GeneratorValue;
+import services.util.HelperJson;
+import services.util.PayloadTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение формирования сообщений через шаблон и через сериализацию POJO
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadTemplateBenchmark {
+    private static final String TEMPLATE = """
+            {
+              "id": "${id}",
+              "amount": "${amount}",
+              "currency": "RUB",
+              "status": "NEW",
+              "channel": "MOBILE",
+              "description": "Оплата по договору ${id}",
+              "payer": {"name": "Иванов Иван Иванович", "inn": "7700000000", "account": "40817810000000000001"},
+              "payee": {"name": "ООО Ромашка", "inn": "7711111111", "account": "40702810000000000002"},
+              "bank": {"bic": "044525225", "name": "ПАО Банк", "correspondentAccount": "30101810400000000225"}
+            }""";
+
+    PayloadTemplate template;
+
+    @Setup
+    public void setup() {
+        template = PayloadTemplate.of(TEMPLATE)
+                .bind("id", GeneratorValue::generateId)
+                .bind("amount", () -> GeneratorValue.generateLong(1, 100_000));
+    }
+
+    @Benchmark
+    public byte[] template() {
+        return template.render();
+    }
+
+    @Benchmark
+    public byte[] pojo() {
+        String id = GeneratorValue.generateId();
+        Payment payment = new Payment();
+        payment.id = id;
+        payment.amount = GeneratorValue.generateLong(1, 100_000);
+        payment.description = "Оплата по договору " + id;
+        return HelperJson.convertObjectToJson(payment).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static class Payment {
+        public String id;
+        public Long amount;
+        public String currency = "RUB";
+        public String status = "NEW";
+        public String channel = "MOBILE";
+        public String description;
+        public Party payer = new Party("Иванов Иван Иванович", "7700000000", "40817810000000000001");
+        public Party payee = new Party("ООО Ромашка", "7711111111", "40702810000000000002");
+        public Bank bank = new Bank();
+    }
+
+    public record Party(String name, String inn, String account) {
+    }
+
+    public static class Bank {
+        public String bic = "044525225";
+        public String name = "ПАО Банк";
+        public String correspondentAccount = "30101810400000000225";
+    }
+}
@@ -0,0 +1,42 @@
+package services.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import services.util.RegexGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер генерации строк по регулярным выражениям распространенных форматов полей
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegexGeneratorBenchmark {
+    @Param({
+            "[A-Z]{2}[0-9]{2}[A-Z0-9]{4}[0-9]{7}([A-Z0-9]?){0,16}",
+            "\\+7 \\(9\\d{2}\\) \\d{3}-\\d{2}-\\d{2}",
+            "\\d{4} \\d{6}",
+            "[a-z]{3,10}@[a-z]{2,8}\\.(ru|com)"
+    })
+    String pattern;
+
+    RegexGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = RegexGenerator.of(pattern);
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String generateCached() {
+        return RegexGenerator.of(pattern).next();
+    }
+}
@@ -1,13 +1,24 @@
 package services.kafka;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
 
 @SpringBootTest
+@ActiveProfiles("full")
 class ApplicationTests {
 
+	@Autowired
+	ApplicationContext context;
+
 	@Test
 	void contextLoads() {
+		Assertions.assertNotNull(context.getBean(DataSource.class));
 	}
 
 }
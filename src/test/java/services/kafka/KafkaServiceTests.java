@@ -0,0 +1,87 @@
+package services.kafka;
+
+import org.junit.jupiter.api.Assertions;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import services.SlimSpringTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static services.kafka.KafkaVerifier.RecordFilter;
+
+@SlimSpringTest
+class KafkaServiceTests {
+
+	@Autowired
+	KafkaService kafkaService;
+
+	@Autowired
+	KafkaVerifier kafkaVerifier;
+
+	@Autowired
+	KafkaReplay kafkaReplay;
+
+	@Test
+	void sendAndFind() {
+		Instant start = Instant.now();
+		kafkaService.send();
+
+		Assertions.assertTrue(kafkaVerifier.findFirst(
+				"READ_TEST",
+				start,
+				RecordFilter.key("asdfasdf").and(RecordFilter.header("TYPE", "application"))
+		).isPresent());
+		Assertions.assertTrue(kafkaVerifier.find("READ_TEST", start, RecordFilter.key("missing"), Duration.ofSeconds(1)).isEmpty());
+	}
+
+	@Test
+	void replayDump(@TempDir Path directory) throws IOException {
+		Path dump = Files.writeString(directory.resolve("dump.jsonl"), """
+				{"topic": "READ_TEST", "partition": 1, "timestamp": 1000, "key": "replay-1", "headers": {"TYPE": "replay"}, "value": {"id": 1}}
+
+				{"topic": "READ_TEST", "partition": 2, "timestamp": 1100, "key": "replay-2", "value": "text",\
+				 "headers": [{"key": "TRACE", "value": "a"}, {"key": "TRACE", "value": "AP8=", "encoding": "base64"}, {"key": "EMPTY", "value": null}]}
+				{"topic": "READ_TEST", "timestamp": 1200, "key": "replay-3", "value": null}""");
+		Instant start = Instant.now();
+
+		KafkaReplay.Result result = kafkaReplay.replay(dump, KafkaReplay.ORIGINAL_SPEED);
+
+		Assertions.assertEquals(3, result.sent());
+		Assertions.assertTrue(result.duration().toMillis() >= 200);
+		ConsumerRecord<String, String> first = kafkaVerifier.findFirst(
+				"READ_TEST",
+				start,
+				RecordFilter.key("replay-1").and(RecordFilter.header("TYPE", "replay"))
+		).orElseThrow();
+		Assertions.assertEquals(1, first.partition());
+		Assertions.assertEquals("{\"id\":1}", first.value());
+		ConsumerRecord<String, String> second = kafkaVerifier.findFirst("READ_TEST", start, RecordFilter.key("replay-2")).orElseThrow();
+		Header[] trace = second.headers().toArray();
+		Assertions.assertEquals(3, trace.length);
+		Assertions.assertArrayEquals("a".getBytes(StandardCharsets.UTF_8), trace[0].value());
+		Assertions.assertArrayEquals(new byte[]{0, -1}, trace[1].value());
+		Assertions.assertNull(trace[2].value());
+		Assertions.assertEquals(3, kafkaVerifier.find("READ_TEST", start,
+				(key, headers) -> key != null && new String(key, StandardCharsets.UTF_8).startsWith("replay-")).size());
+	}
+
+	@Test
+	void replayRejectsNonTextKeys(@TempDir Path directory) throws IOException {
+		Path numberKey = Files.writeString(directory.resolve("key.jsonl"), """
+				{"topic": "READ_TEST", "key": 1, "value": "text"}""");
+		Path numberHeader = Files.writeString(directory.resolve("header.jsonl"), """
+				{"topic": "READ_TEST", "headers": [{"key": 1, "value": "text"}], "value": "text"}""");
+
+		Assertions.assertThrows(IllegalStateException.class, () -> kafkaReplay.replay(numberKey));
+		Assertions.assertThrows(IllegalStateException.class, () -> kafkaReplay.replay(numberHeader));
+	}
+
+}
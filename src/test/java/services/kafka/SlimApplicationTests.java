@@ -0,0 +1,22 @@
+package services.kafka;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import services.SlimSpringTest;
+
+import javax.sql.DataSource;
+
+@SlimSpringTest
+class SlimApplicationTests {
+
+	@Autowired
+	ApplicationContext context;
+
+	@Test
+	void contextLoadsWithoutDataSource() {
+		Assertions.assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+	}
+
+}
@@ -0,0 +1,142 @@
+package services.util;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.util.AllureStep.Param;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class AllureStepTests {
+	private final List<TestResult> results = new ArrayList<>();
+	private AllureLifecycle previous;
+
+	@BeforeEach
+	void startTestCase() {
+		previous = Allure.getLifecycle();
+		Allure.setLifecycle(new AllureLifecycle(new AllureResultsWriter() {
+			@Override
+			public void write(TestResult testResult) {
+				results.add(testResult);
+			}
+
+			@Override
+			public void write(TestResultContainer testResultContainer) {
+			}
+
+			@Override
+			public void write(String source, InputStream attachment) {
+			}
+		}));
+		String uuid = GeneratorValue.generateId();
+		Allure.getLifecycle().scheduleTestCase(new TestResult().setUuid(uuid).setName("FIND-T01: Проверка"));
+		Allure.getLifecycle().startTestCase(uuid);
+	}
+
+	@AfterEach
+	void restoreLifecycle() {
+		Allure.setLifecycle(previous);
+	}
+
+	@Test
+	void longValuesAreTruncated() {
+		AllureStep.step("Шаг 1", Param.of("plain", "a".repeat(2_500)), Param.lazy("lazy", () -> "b".repeat(2_500)));
+		stopStep(Status.FAILED);
+
+		List<Parameter> parameters = finishTestCase().getSteps().get(0).getParameters();
+
+		Assertions.assertEquals("a".repeat(2_000) + "... [обрезано, длина 2500]", parameters.get(0).getValue());
+		Assertions.assertEquals("b".repeat(2_000) + "... [обрезано, длина 2500]", parameters.get(1).getValue());
+	}
+
+	@Test
+	void lazyValueOfPassedStepIsDiscarded() {
+		AtomicInteger calls = new AtomicInteger();
+		AllureStep.step("Шаг 1", Param.lazy("dto", () -> "dto-" + calls.incrementAndGet()));
+		stopStep(Status.PASSED);
+
+		Parameter parameter = finishTestCase().getSteps().get(0).getParameters().get(0);
+
+		Assertions.assertEquals(0, calls.get());
+		Assertions.assertEquals("[не вычислено: шаг пройден]", parameter.getValue());
+	}
+
+	@Test
+	void lazyValueOfFailedStepIsRenderedWhenStepStops() {
+		StringBuilder dto = new StringBuilder("state-1");
+		AllureStep.step("Шаг 1", Param.lazy("dto", dto::toString));
+		stopStep(Status.FAILED);
+		dto.replace(0, dto.length(), "state-2");
+
+		Parameter parameter = finishTestCase().getSteps().get(0).getParameters().get(0);
+
+		Assertions.assertEquals("state-1", parameter.getValue());
+	}
+
+	@Test
+	void lazyValueOfUnfinishedStepIsRenderedWhenTestStops() {
+		AllureStep.step("Шаг 1", Param.lazy("dto", () -> "state"));
+
+		Parameter parameter = finishTestCase().getSteps().get(0).getParameters().get(0);
+
+		Assertions.assertEquals("state", parameter.getValue());
+	}
+
+	@Test
+	void supplierPassedToOfIsNotLazy() {
+		Supplier<String> supplier = () -> "value";
+		AllureStep.step("Шаг 1", Param.of("supplier", supplier));
+		stopStep(Status.FAILED);
+
+		Parameter parameter = finishTestCase().getSteps().get(0).getParameters().get(0);
+
+		Assertions.assertFalse(parameter instanceof AllureStep.LazyParameter);
+		Assertions.assertEquals(String.valueOf(supplier), parameter.getValue());
+	}
+
+	@Test
+	void addParamAppendsToStepParameters() {
+		AllureStep.step("Шаг 1", Param.of("a", 1));
+		List<Parameter> parameters = currentStepParameters();
+		AllureStep.addParam(Param.of("b", 2));
+		AllureStep.addParam(Param.of("c", 3), Param.lazy("d", () -> 4));
+		stopStep(Status.FAILED);
+
+		List<Parameter> finished = finishTestCase().getSteps().get(0).getParameters();
+
+		Assertions.assertSame(parameters, finished);
+		Assertions.assertEquals(List.of("a", "b", "c", "d"), finished.stream().map(Parameter::getName).toList());
+		Assertions.assertEquals(List.of("1", "2", "3", "4"), finished.stream().map(Parameter::getValue).toList());
+	}
+
+	private static List<Parameter> currentStepParameters() {
+		List<List<Parameter>> parameters = new ArrayList<>();
+		Allure.getLifecycle().updateStep(stepResult -> parameters.add(stepResult.getParameters()));
+		return parameters.get(0);
+	}
+
+	private static void stopStep(Status status) {
+		Allure.getLifecycle().updateStep(stepResult -> stepResult.setStatus(status));
+		Allure.getLifecycle().stopStep();
+	}
+
+	private TestResult finishTestCase() {
+		String uuid = Allure.getLifecycle().getCurrentTestCase().orElseThrow();
+		Allure.getLifecycle().stopTestCase(uuid);
+		Allure.getLifecycle().writeTestCase(uuid);
+		return results.get(0);
+	}
+
+}
@@ -0,0 +1,28 @@
+package services.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+class HelperJsonTests {
+
+	@ParameterizedTest
+	@CsvSource({
+			"2024-01-01T10:20:30,           2024-01-01T10:20:30",
+			"2024-01-01T00:00,              2024-01-01T00:00",
+			"2024-01-10T10:00:50,           2024-01-10T10:00:50",
+			"2024-01-01T10:20:30.100,       2024-01-01T10:20:30.1",
+			"2024-01-01T10:20:30.000120,    2024-01-01T10:20:30.00012",
+			"2024-01-01T10:20:30.000000001, 2024-01-01T10:20:30.000000001"
+	})
+	void trimTimestamp(String value, String expected) {
+		Timestamp timestamp = Timestamp.valueOf(LocalDateTime.parse(value));
+
+		Assertions.assertEquals("\"" + expected + "\"", HelperJson.convertObjectToJson(timestamp, true));
+		Assertions.assertEquals("\"" + LocalDateTime.parse(value) + "\"", HelperJson.convertObjectToJson(timestamp, false));
+	}
+
+}
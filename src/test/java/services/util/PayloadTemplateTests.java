@@ -0,0 +1,55 @@
+package services.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class PayloadTemplateTests {
+
+	@Test
+	void keySlotsAndEscapedQuotesAreRenderedAsText() {
+		PayloadTemplate template = PayloadTemplate.of("""
+				{"${k}": 1, "quoted": "\\"${x}\\"", "value": "${x}", "list": ["${k}"]}""")
+				.bind("k", () -> 5)
+				.bind("x", () -> 7);
+
+		JsonNode rendered = HelperJson.convertStringToJsonNode(template.renderToString());
+
+		Assertions.assertEquals(1, rendered.get("5").asInt());
+		Assertions.assertEquals("\"7\"", rendered.get("quoted").asText());
+		Assertions.assertTrue(rendered.get("value").isNumber());
+		Assertions.assertTrue(rendered.get("list").get(0).isNumber());
+	}
+
+	@Test
+	void nonFiniteNumbersAreRenderedAsStrings() {
+		PayloadTemplate template = PayloadTemplate.of("""
+				{"nan": "${nan}", "infinity": "${infinity}", "value": "${value}"}""")
+				.bind("nan", () -> Double.NaN)
+				.bind("infinity", () -> Float.NEGATIVE_INFINITY)
+				.bind("value", () -> 1.5);
+
+		JsonNode rendered = HelperJson.convertStringToJsonNode(template.renderToString());
+
+		Assertions.assertEquals("NaN", rendered.get("nan").asText());
+		Assertions.assertEquals("-Infinity", rendered.get("infinity").asText());
+		Assertions.assertEquals(1.5, rendered.get("value").asDouble());
+	}
+
+	@Test
+	void largeTemplateIsParsedInLinearTime() {
+		String json = IntStream.range(0, 100_000)
+				.mapToObj(i -> "\"field" + i + "\": \"value" + i + "\"")
+				.collect(Collectors.joining(", ", "{", ", \"slot\": \"${slot}\"}"));
+
+		PayloadTemplate template = Assertions.assertTimeout(Duration.ofSeconds(10), () -> PayloadTemplate.of(json));
+
+		Assertions.assertEquals(List.of("slot"), template.getSlots());
+	}
+
+}
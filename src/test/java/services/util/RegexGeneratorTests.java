@@ -0,0 +1,38 @@
+package services.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
+
+class RegexGeneratorTests {
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"^\\+7 \\(9\\d{2}\\) \\d{3}-\\d{2}-\\d{2}$",
+			"[\\D]{3}",
+			"[^\\W]{2,5}",
+			"[\\S-]+",
+			"\\s\\S\\w\\W",
+			"\"ab\"c",
+			"(?:ab|cd)*x(?<tail>[a-c-]+)?",
+			"\\x41\\u0411\\.\\t?",
+			"<1-3>#@&~"
+	})
+	void generatedStringsMatch(String regex) {
+		Pattern pattern = Pattern.compile(regex);
+		RegexGenerator generator = RegexGenerator.of(regex);
+		for (int i = 0; i < 1_000; i++) {
+			String value = generator.next();
+			Assertions.assertTrue(pattern.matcher(value).matches(), regex + " ==> " + value);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"\\bab", "\\p{L}+", "(a)\\1", "a(?=b)", "(?i)ab", "a*+b", "[a-z[0-9]]", "[a-z&&[^x]]", "a^b"})
+	void unsupportedConstructsAreRejected(String regex) {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> RegexGenerator.of(regex));
+	}
+
+}
@@ -0,0 +1,100 @@
+package services.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+class TimestampRangeTests {
+	private static final ZoneId MOSCOW = ZoneId.of("Europe/Moscow");
+
+	@Test
+	void boundsAreInclusive() {
+		TimestampRange range = TimestampRange.of("2024-01-01T00:00", "2024-01-01T00:00", MOSCOW);
+		Assertions.assertTrue(range.millis(100).allMatch(value -> value == range.getLower()));
+
+		Instant lower = Instant.parse("2024-01-01T00:00:00Z");
+		TimestampRange pair = TimestampRange.of(lower, lower.plusMillis(1), MOSCOW);
+		long[] values = pair.millis(1_000).toArray();
+		Assertions.assertTrue(Arrays.stream(values).anyMatch(value -> value == pair.getLower()));
+		Assertions.assertTrue(Arrays.stream(values).anyMatch(value -> value == pair.getUpper()));
+		Assertions.assertTrue(Arrays.stream(values).allMatch(value -> value == pair.getLower() || value == pair.getUpper()));
+	}
+
+	@Test
+	void evenlyStartsAtLowerAndEndsAtUpper() {
+		TimestampRange range = TimestampRange.of("2024-01-01T00:00", "2024-01-01T00:07", MOSCOW);
+
+		long[] values = range.evenly(4).toArray();
+
+		Assertions.assertEquals(range.getLower(), values[0]);
+		Assertions.assertEquals(range.getUpper(), values[values.length - 1]);
+		for (int i = 1; i < values.length; i++) {
+			Assertions.assertTrue(values[i] > values[i - 1]);
+		}
+		Assertions.assertArrayEquals(new long[]{range.getLower()}, range.evenly(1).toArray());
+	}
+
+	@Test
+	void boundsAreInterpretedInZone() {
+		TimestampRange range = TimestampRange.of("2024-01-01T09:00", "2024-01-01T18:00", ZoneId.of("Asia/Tokyo"));
+
+		Assertions.assertEquals(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli(), range.getLower());
+		Assertions.assertEquals(Instant.parse("2024-01-01T09:00:00Z").toEpochMilli(), range.getUpper());
+	}
+
+	@Test
+	void businessHoursStayInsideWorkingTimeAndWeighPartialDays() {
+		// пятница 15:00 - понедельник 10:00: 3 рабочих часа в пятницу и 1 в понедельник
+		TimestampRange range = TimestampRange.of("2024-01-05T15:00", "2024-01-08T10:00", MOSCOW)
+				.withDistribution(TimestampRange.Distribution.businessHours());
+
+		long[] values = range.millis(100_000).toArray();
+
+		long friday = 0;
+		for (long value : values) {
+			ZonedDateTime time = Instant.ofEpochMilli(value).atZone(MOSCOW);
+			Assertions.assertTrue(value >= range.getLower() && value <= range.getUpper());
+			Assertions.assertFalse(time.getDayOfWeek() == DayOfWeek.SATURDAY || time.getDayOfWeek() == DayOfWeek.SUNDAY, time::toString);
+			Assertions.assertFalse(time.toLocalTime().isBefore(LocalTime.of(9, 0)), time::toString);
+			Assertions.assertTrue(time.toLocalTime().isBefore(LocalTime.of(18, 0)), time::toString);
+			if (time.getDayOfWeek() == DayOfWeek.FRIDAY) {
+				friday++;
+			}
+		}
+		Assertions.assertEquals(0.75, (double) friday / values.length, 0.01);
+	}
+
+	@Test
+	void businessHoursFailWithoutWorkingTime() {
+		TimestampRange weekend = TimestampRange.of("2024-01-06T00:00", "2024-01-07T23:59", MOSCOW)
+				.withDistribution(TimestampRange.Distribution.businessHours());
+		TimestampRange evening = TimestampRange.of("2024-01-08T18:00", "2024-01-09T08:59", MOSCOW)
+				.withDistribution(TimestampRange.Distribution.businessHours());
+
+		Assertions.assertThrows(IllegalArgumentException.class, weekend::nextMillis);
+		Assertions.assertThrows(IllegalArgumentException.class, evening::nextMillis);
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> TimestampRange.Distribution.businessHours(LocalTime.of(18, 0), LocalTime.of(9, 0)));
+	}
+
+	@Test
+	void aroundDoesNotPileUpOnBounds() {
+		LocalDateTime lower = LocalDateTime.parse("2024-01-01T00:00");
+		TimestampRange range = TimestampRange.of(lower.toString(), lower.plusDays(1).toString(), MOSCOW)
+				.withDistribution(TimestampRange.Distribution.around(lower.atZone(MOSCOW).toInstant(), Duration.ofHours(6)));
+
+		long[] values = range.millis(100_000).toArray();
+
+		Assertions.assertTrue(Arrays.stream(values).allMatch(value -> value >= range.getLower() && value <= range.getUpper()));
+		Assertions.assertTrue(Arrays.stream(values).filter(value -> value == range.getLower()).count() < 10);
+	}
+
+}